@@ -0,0 +1,504 @@
+import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Spliterator;
+
+/**
+ * 根据观察到的操作组合自动切换底层表示的List实现
+ * 数据类型：Character
+ *
+ * 底层在三种表示之间切换：字符数组（CharArrayListImpl）、间隙缓冲（GapBufferListImpl）、双向链表（DoublyLinkedListImpl）。
+ * 最近 windowSize 次操作按类别计数（滑动窗口）：光标处编辑、远跳（gotoBeginning/gotoEnd/find）之后的第一次编辑、
+ * moveToNth、find、gotoPrev。每隔 checkInterval 次操作，或者自上次评估以来在当前表示下估算花掉的时间
+ * 已够支付一次迁移时（昂贵的操作突然变多时不必等满 checkInterval 次），用代价模型估算三种表示处理这个窗口的
+ * 总耗时。某种表示比当前表示至少便宜 SWITCH_RATIO，且省下的时间超过迁移代价的 PAYBACK 倍时才迁移（滞回），
+ * 避免在两种表示之间来回切换。
+ *
+ * 代价模型的常数来自三种实现在 1000~100000 个元素下的实测（纳秒，见 ListBenchmark 的 adaptive 套件）：
+ * - 字符数组：编辑要平移光标后的元素；moveToNth 为一次 arraycopy；find 连续扫描
+ * - 间隙缓冲：连续的光标处编辑为 O(1)，但远跳之后的第一次编辑要把间隙搬到新位置
+ * - 双向链表：任何位置的编辑都是 O(1)，但 moveToNth 与 find 都要沿指针逐个节点走
+ *
+ * 三种表示的光标语义与 ArrayListImpl 一致（DoublyLinkedListImpl 的 moveToNth 在目标位置大于光标位置时
+ * 会少移一格，双向链表表示下由本类把目标位置加一再委托，被移动的元素上的游标因此跟随它）。
+ *
+ * openCursor() 在当前表示上打开游标并包一层：迁移时为每个打开的游标数出位置，在新表示上重新打开并移过去，
+ * 迁移的代价因此多出 O(长度 × 游标数)。游标自身的移动与查找不计入滑动窗口。
+ */
+public class AdaptiveListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int DEFAULT_WINDOW_SIZE = 4096;
+    private static final int DEFAULT_CHECK_INTERVAL = 512;
+    private static final double SWITCH_RATIO = 0.75;  // 新表示的估算代价不超过当前的 75% 才考虑迁移
+    private static final double PAYBACK = 2.0;        // 一个窗口内省下的时间至少是迁移代价的 2 倍
+    private static final double MIGRATION_COST_PER_ELEMENT = 2.0;
+    private static final double MIN_EVALUATION_COST = 10000; // 元素很少时也不必每次操作都评估
+
+    /**
+     * 底层表示
+     */
+    public enum Representation {
+        ARRAY, GAP_BUFFER, DOUBLY_LINKED
+    }
+
+    /**
+     * 计入滑动窗口的操作类别（gotoNext、getCursor、replace 等对三种表示都是 O(1) 的操作不计数）
+     */
+    public enum Operation {
+        EDIT,       // 光标处的 insert/remove（以及批量版本）
+        JUMP_EDIT,  // gotoBeginning/gotoEnd/find 之后的第一次编辑
+        SEEK,       // moveToNth
+        FIND,       // find
+        BACKWARD    // gotoPrev
+    }
+
+    /**
+     * 迁移事件的监听器
+     */
+    public interface MigrationListener {
+        /**
+         * @param from 迁移前的表示
+         * @param to 迁移后的表示
+         * @param size 迁移时的元素个数
+         * @param window 触发迁移时窗口内各类操作的次数（按 Operation 的顺序）
+         */
+        void migrated(Representation from, Representation to, int size, int[] window);
+    }
+
+    // 代价模型：每类操作在每种表示下的耗时 ≈ FIXED + PER_ELEMENT * 元素个数（纳秒），下标为 [表示][操作]
+    private static final double[][] FIXED = {
+            {20, 20, 20, 500, 6},       // ARRAY
+            {15, 15, 20, 500, 6},       // GAP_BUFFER
+            {15, 15, 20, 500, 10},      // DOUBLY_LINKED
+    };
+    private static final double[][] PER_ELEMENT = {
+            {0.02, 0.02, 0.015, 0.25, 0},   // ARRAY
+            {0, 0.05, 0.015, 0.25, 0},      // GAP_BUFFER
+            {0, 0, 2.5, 5.0, 0},            // DOUBLY_LINKED
+    };
+
+    private CharList list;
+    private Representation representation;
+    private final int capacity;
+
+    // 滑动窗口：最近 windowSize 次计数操作的类别（环形缓冲区）与各类别的次数
+    private final byte[] window;
+    private final int[] counts = new int[Operation.values().length];
+    private long recorded;          // 累计记录的操作次数
+    private final int checkInterval;
+    private long nextCheck;         // 下一次评估时的 recorded
+    private double spent;           // 自上次评估以来的操作在当前表示下的估算耗时（纳秒）
+    private boolean jumped;         // 上一次定位操作是远跳，下一次编辑计为 JUMP_EDIT
+    private int migrations;
+    private MigrationListener listener;
+    private final ArrayList<Cursor> cursors = new ArrayList<>(); // 打开的附加游标（见 openCursor）
+
+    public AdaptiveListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AdaptiveListImpl(int capacity) {
+        this(capacity, DEFAULT_WINDOW_SIZE, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param capacity 元素个数上限
+     * @param windowSize 滑动窗口的长度（操作次数）
+     * @param checkInterval 两次评估之间的操作次数
+     */
+    public AdaptiveListImpl(int capacity, int windowSize, int checkInterval) {
+        if (windowSize < 1 || checkInterval < 1) {
+            throw new IllegalArgumentException("windowSize 与 checkInterval 必须大于0");
+        }
+        this.capacity = capacity;
+        this.window = new byte[windowSize];
+        this.checkInterval = checkInterval;
+        this.nextCheck = windowSize; // 窗口填满之前不评估
+        this.representation = Representation.GAP_BUFFER;
+        this.list = create(representation, capacity);
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        list.insert(newElement);
+        recordEdit();
+    }
+
+    @Override
+    public void remove() {
+        list.remove();
+        recordEdit();
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        list.replace(newElement);
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return list.isFull();
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        jumped = true;
+        return list.gotoBeginning();
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        jumped = true;
+        return list.gotoEnd();
+    }
+
+    @Override
+    public boolean gotoNext() {
+        return list.gotoNext();
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        record(Operation.BACKWARD);
+        return list.gotoPrev();
+    }
+
+    @Override
+    public Character getCursor() {
+        return list.getCursor();
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        list.showStructure(pw);
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        jumped = false; // 三种表示的 moveToNth 都把编辑位置留在目标处
+        record(Operation.SEEK);
+        if (representation != Representation.DOUBLY_LINKED) {
+            list.moveToNth(n);
+            return;
+        }
+
+        // 双向链表：目标在光标之后时它会少移一格，把目标位置加一再委托
+        int position = list.getCursorPosition();
+        if (n <= position || n >= getSize()) {
+            list.moveToNth(n);
+        } else if (n < getSize() - 1) {
+            list.moveToNth(n + 1);
+        } else {
+            // 目标是最后一个位置：先移到倒数第二个位置，再把原来的最后一个元素移到它前面
+            list.moveToNth(n);
+            list.gotoNext();
+            list.moveToNth(n - 1);
+            list.gotoNext();
+        }
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        jumped = true;
+        record(Operation.FIND);
+        return list.find(searchElement);
+    }
+
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        jumped = true;
+        record(Operation.FIND);
+        return list.findSequence(sequence);
+    }
+
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        list.insertAll(elements);
+        recordEdit();
+    }
+
+    @Override
+    public void removeRange(int count) {
+        list.removeRange(count);
+        recordEdit();
+    }
+
+    @Override
+    public void replaceRange(CharSequence elements) {
+        list.replaceRange(elements);
+    }
+
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        list.appendFrom(other);
+        recordEdit();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public ListCursor<Character> openCursor() {
+        Cursor cursor = new Cursor(list.openCursor());
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    // ---------------- 监控 ----------------
+
+    public Representation getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * 当前窗口内某类操作的次数
+     */
+    public int getWindowCount(Operation operation) {
+        return counts[operation.ordinal()];
+    }
+
+    /**
+     * 按代价模型估算当前窗口的操作在某种表示下的总耗时（纳秒）
+     */
+    public double estimateCost(Representation target) {
+        int r = target.ordinal();
+        int size = getSize();
+        double total = 0;
+        for (int k = 0; k < counts.length; k++) {
+            total += counts[k] * (FIXED[r][k] + PER_ELEMENT[r][k] * size);
+        }
+        return total;
+    }
+
+    // 累计迁移次数
+    public int getMigrationCount() {
+        return migrations;
+    }
+
+    public void setMigrationListener(MigrationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 立即迁移到指定表示（内容与光标位置不变），不影响之后的自动切换
+     */
+    public void migrateTo(Representation target) {
+        if (target == representation) {
+            return;
+        }
+        Representation from = representation;
+
+        // 先按顺序取出全部元素（不移动光标），再数出光标位置
+        char[] elements = new char[getSize()];
+        int[] next = {0};
+        list.spliterator().forEachRemaining((int c) -> elements[next[0]++] = (char) c);
+        int position = -1;
+        if (elements.length > 0) {
+            position = 0;
+            while (list.gotoPrev()) {
+                position++;
+            }
+        }
+
+        // 游标先数出各自的位置，再在还是空的新表示上重新打开（不标记元素的游标保持不标记）
+        int[] positions = new int[cursors.size()];
+        CharList replacement = create(target, capacity);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = cursors.get(i).detach(replacement.openCursor());
+        }
+        try {
+            replacement.insertAll(CharBuffer.wrap(elements));
+        } catch (ListException e) {
+            throw new IllegalStateException(e); // 三种表示的容量相同
+        }
+        list = replacement;
+        representation = target;
+        if (position >= 0) {
+            seek(position);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            cursors.get(i).seek(positions[i]);
+        }
+        migrations++;
+        nextCheck = recorded + checkInterval;
+        spent = 0;
+        if (listener != null) {
+            listener.migrated(from, target, elements.length, counts.clone());
+        }
+    }
+
+    // ---------------- 辅助方法 ----------------
+
+    private void recordEdit() {
+        record(jumped ? Operation.JUMP_EDIT : Operation.EDIT);
+        jumped = false;
+    }
+
+    // 辅助方法：把一次操作计入滑动窗口，到达评估点时按代价模型决定是否迁移
+    private void record(Operation operation) {
+        int slot = (int) (recorded % window.length);
+        if (recorded >= window.length) {
+            counts[window[slot]]--; // 移出窗口的最早一次操作
+        }
+        window[slot] = (byte) operation.ordinal();
+        counts[operation.ordinal()]++;
+        recorded++;
+        int r = representation.ordinal();
+        int size = getSize();
+        spent += FIXED[r][operation.ordinal()] + PER_ELEMENT[r][operation.ordinal()] * size;
+        if (recorded >= nextCheck
+                || spent >= PAYBACK * Math.max(MIGRATION_COST_PER_ELEMENT * size, MIN_EVALUATION_COST)) {
+            nextCheck = recorded + checkInterval;
+            spent = 0;
+            evaluate();
+        }
+    }
+
+    // 辅助方法：选出估算代价最低的表示，满足切换条件时迁移
+    private void evaluate() {
+        double current = estimateCost(representation);
+        Representation best = representation;
+        double bestCost = current;
+        for (Representation candidate : Representation.values()) {
+            double cost = estimateCost(candidate);
+            if (cost < bestCost) {
+                best = candidate;
+                bestCost = cost;
+            }
+        }
+        double migrationCost = MIGRATION_COST_PER_ELEMENT * getSize();
+        if (best != representation && bestCost <= current * SWITCH_RATIO
+                && current - bestCost >= PAYBACK * migrationCost) {
+            migrateTo(best);
+        }
+    }
+
+    // 辅助方法：把光标移到位置 index（从开头逐个前进）
+    private void seek(int index) {
+        list.gotoBeginning();
+        for (int i = 0; i < index; i++) {
+            list.gotoNext();
+        }
+    }
+
+    // 附加游标：委托给当前表示上打开的游标，迁移时换成新表示上的游标
+    private class Cursor implements ListCursor<Character> {
+        private ListCursor<Character> handle;
+        private boolean closed;
+
+        Cursor(ListCursor<Character> handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public boolean gotoBeginning() {
+            checkOpen();
+            return handle.gotoBeginning();
+        }
+
+        @Override
+        public boolean gotoEnd() {
+            checkOpen();
+            return handle.gotoEnd();
+        }
+
+        @Override
+        public boolean gotoNext() {
+            checkOpen();
+            return handle.gotoNext();
+        }
+
+        @Override
+        public boolean gotoPrev() {
+            checkOpen();
+            return handle.gotoPrev();
+        }
+
+        @Override
+        public Character getCursor() {
+            checkOpen();
+            return handle.getCursor();
+        }
+
+        @Override
+        public boolean find(Character searchElement) {
+            checkOpen();
+            return handle.find(searchElement);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            handle.close();
+            cursors.remove(this);
+        }
+
+        // 数出在旧表示上的位置（不标记元素时为-1），关闭旧游标并换成 replacement
+        int detach(ListCursor<Character> replacement) {
+            int position = -1;
+            if (handle.getCursor() != null) {
+                position = 0;
+                while (handle.gotoPrev()) {
+                    position++;
+                }
+            }
+            handle.close();
+            handle = replacement;
+            return position;
+        }
+
+        // 在新表示上从开头前进到 position
+        void seek(int position) {
+            if (position < 0) {
+                return;
+            }
+            handle.gotoBeginning();
+            for (int i = 0; i < position; i++) {
+                handle.gotoNext();
+            }
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("Cursor is closed");
+            }
+        }
+    }
+
+    private static CharList create(Representation representation, int capacity) {
+        return switch (representation) {
+            case ARRAY -> new CharArrayListImpl(capacity);
+            case GAP_BUFFER -> new GapBufferListImpl(capacity);
+            case DOUBLY_LINKED -> new DoublyLinkedListImpl(capacity);
+        };
+    }
+
+    @Override
+    public int getCursorPosition() {
+        return list.getCursorPosition();
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return switch (representation) {
+            case ARRAY -> ((CharArrayListImpl) list).getSize();
+            case GAP_BUFFER -> ((GapBufferListImpl) list).getSize();
+            case DOUBLY_LINKED -> ((DoublyLinkedListImpl) list).getSize();
+        };
+    }
+}
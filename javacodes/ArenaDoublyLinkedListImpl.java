@@ -0,0 +1,350 @@
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * 基于数组池（arena）的双向链表List实现
+ * 数据类型：Character
+ *
+ * 节点是平行数组 data[]/next[]/prev[] 中的一个下标（句柄），NIL 表示空指针。
+ * 删除的节点放入空闲链表（复用 next[] 串起来），插入优先从空闲链表取，
+ * 因此反复的 insert/remove 不产生任何分配。光标语义与 DoublyLinkedListImpl 完全一致。
+ */
+public class ArenaDoublyLinkedListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int INITIAL_ARENA = 16;
+    private static final int NIL = -1;
+
+    private char[] data;    // 节点的元素
+    private int[] next;     // 节点的后继句柄
+    private int[] prev;     // 节点的前驱句柄
+    private int used;       // 已经分配过的槽位数（高水位）
+    private int freeHead;   // 空闲链表头
+
+    private int head;
+    private int tail;
+    private int cursor;
+    private int size;
+    private int capacity;
+
+    public ArenaDoublyLinkedListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ArenaDoublyLinkedListImpl(int capacity) {
+        this.capacity = capacity;
+        int arena = Math.max(1, Math.min(capacity, INITIAL_ARENA));
+        this.data = new char[arena];
+        this.next = new int[arena];
+        this.prev = new int[arena];
+        this.used = 0;
+        this.freeHead = NIL;
+        this.head = NIL;
+        this.tail = NIL;
+        this.cursor = NIL;
+        this.size = 0;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        int newNode = allocate(newElement);
+
+        if (isEmpty()) {
+            // 空列表，插入第一个元素
+            head = newNode;
+            tail = newNode;
+            size = 1;
+        } else if (cursor == NIL) {
+            // 光标为空，插入到头部
+            next[newNode] = head;
+            prev[head] = newNode;
+            head = newNode;
+            size++;
+        } else {
+            // 在光标位置后插入元素
+            next[newNode] = next[cursor];
+            prev[newNode] = cursor;
+            if (next[cursor] != NIL) {
+                prev[next[cursor]] = newNode;
+            } else {
+                tail = newNode; // 光标在尾部，更新tail
+            }
+            next[cursor] = newNode;
+            size++;
+        }
+        // 统一设置光标指向新节点
+        cursor = newNode;
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty() || cursor == NIL) {
+            return; // 空列表或光标为空，什么都不做
+        }
+
+        int removed = cursor;
+        if (size == 1) {
+            // 只有一个元素
+            head = NIL;
+            tail = NIL;
+            cursor = NIL;
+        } else if (cursor == head) {
+            // 删除头节点
+            head = next[head];
+            prev[head] = NIL;
+            cursor = head;
+        } else if (cursor == tail) {
+            // 删除尾节点
+            tail = prev[tail];
+            next[tail] = NIL;
+            cursor = head; // 光标移到开头
+        } else {
+            // 删除中间节点
+            next[prev[cursor]] = next[cursor];
+            prev[next[cursor]] = prev[cursor];
+            cursor = next[cursor]; // 光标移到下一个节点
+        }
+        release(removed);
+        size--;
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null || cursor == NIL) {
+            return;
+        }
+
+        data[cursor] = newElement;
+    }
+
+    @Override
+    public void clear() {
+        // 所有槽位都空闲了，直接重置高水位，无需逐个放回空闲链表
+        used = 0;
+        freeHead = NIL;
+        head = NIL;
+        tail = NIL;
+        cursor = NIL;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = head;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = tail;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor == NIL || next[cursor] == NIL) {
+            return false;
+        }
+        cursor = next[cursor];
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor == NIL || prev[cursor] == NIL) {
+            return false;
+        }
+        cursor = prev[cursor];
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty() || cursor == NIL) {
+            return null;
+        }
+        return data[cursor];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 输出所有元素
+        for (int current = head; current != NIL; current = next[current]) {
+            pw.print(data[current]);
+            pw.print(' ');
+        }
+
+        // 计算光标位置
+        int cursorPos = getCursorPosition();
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursorPos + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size || cursor == NIL) {
+            return;
+        }
+
+        int currentPos = getCursorPosition();
+        // 如果光标已经在目标位置，不需要移动
+        if (currentPos == n) {
+            return;
+        }
+
+        int nodeToMove = cursor;
+
+        // 先断开当前节点
+        if (prev[nodeToMove] != NIL) {
+            next[prev[nodeToMove]] = next[nodeToMove];
+        } else {
+            head = next[nodeToMove];  // 是头节点
+        }
+
+        if (next[nodeToMove] != NIL) {
+            prev[next[nodeToMove]] = prev[nodeToMove];
+        } else {
+            tail = prev[nodeToMove];  // 是尾节点
+        }
+
+        // 与 DoublyLinkedListImpl 相同：目标位置在当前光标之后时，按断开后的位置减一计算
+        int targetPos = (n > currentPos) ? n - 1 : n;
+        size--;  // 临时减少size
+
+        // 重新插入到目标位置
+        if (targetPos == 0) {
+            // 插入到头部
+            prev[nodeToMove] = NIL;
+            next[nodeToMove] = head;
+            if (head != NIL) {
+                prev[head] = nodeToMove;
+            } else {
+                tail = nodeToMove;
+            }
+            head = nodeToMove;
+        } else if (targetPos >= size) {
+            // 插入到尾部
+            prev[nodeToMove] = tail;
+            next[nodeToMove] = NIL;
+            next[tail] = nodeToMove;
+            tail = nodeToMove;
+        } else {
+            // 插入到中间位置
+            int target = head;
+            for (int i = 0; i < targetPos; i++) {
+                target = next[target];
+            }
+            prev[nodeToMove] = prev[target];
+            next[nodeToMove] = target;
+            next[prev[target]] = nodeToMove;
+            prev[target] = nodeToMove;
+        }
+
+        cursor = nodeToMove;
+        size++;  // 恢复size
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始搜索（如果光标为空，从head开始）
+        char target = searchElement;
+        for (int current = (cursor != NIL) ? cursor : head; current != NIL; current = next[current]) {
+            if (data[current] == target) {
+                cursor = current;
+                return true;
+            }
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        gotoEnd();
+        return false;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 沿 next[] 读取节点，trySplit 走到中点对半分开，不移动光标
+        return new ChainSpliterator(data, next, head, size);
+    }
+
+    // 辅助方法：分配一个节点槽位，优先复用空闲链表
+    private int allocate(char element) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = next[node];
+        } else {
+            if (used == data.length) {
+                grow();
+            }
+            node = used++;
+        }
+        data[node] = element;
+        next[node] = NIL;
+        prev[node] = NIL;
+        return node;
+    }
+
+    // 辅助方法：把槽位放回空闲链表
+    private void release(int node) {
+        next[node] = freeHead;
+        freeHead = node;
+    }
+
+    // 辅助方法：槽位用完时把平行数组扩大一倍（不超过 capacity）
+    private void grow() {
+        int newLength = (int) Math.min((long) capacity, (long) data.length * 2);
+        data = Arrays.copyOf(data, newLength);
+        next = Arrays.copyOf(next, newLength);
+        prev = Arrays.copyOf(prev, newLength);
+    }
+
+    // 获取当前光标位置（用于调试）
+    @Override
+    public int getCursorPosition() {
+        if (isEmpty() || cursor == NIL) {
+            return -1;
+        }
+
+        int pos = 0;
+        for (int current = head; current != NIL && current != cursor; current = next[current]) {
+            pos++;
+        }
+        return pos;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+}
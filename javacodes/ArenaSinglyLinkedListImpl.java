@@ -0,0 +1,338 @@
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * 基于数组池（arena）的单向链表List实现
+ * 数据类型：Character
+ *
+ * 节点不再是独立的堆对象，而是平行数组 data[]/next[] 中的一个下标（句柄），NIL 表示空指针。
+ * 删除的节点放入空闲链表（复用 next[] 串起来），插入优先从空闲链表取，
+ * 因此反复的 insert/remove 不产生任何分配。光标语义与 SinglyLinkedListImpl 完全一致。
+ */
+public class ArenaSinglyLinkedListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int INITIAL_ARENA = 16;
+    private static final int NIL = -1;
+
+    private char[] data;    // 节点的元素
+    private int[] next;     // 节点的后继句柄
+    private int used;       // 已经分配过的槽位数（高水位）
+    private int freeHead;   // 空闲链表头
+
+    private int head;
+    private int cursor;
+    private int size;
+    private int capacity;
+
+    public ArenaSinglyLinkedListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ArenaSinglyLinkedListImpl(int capacity) {
+        this.capacity = capacity;
+        int arena = Math.max(1, Math.min(capacity, INITIAL_ARENA));
+        this.data = new char[arena];
+        this.next = new int[arena];
+        this.used = 0;
+        this.freeHead = NIL;
+        this.head = NIL;
+        this.cursor = NIL;
+        this.size = 0;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        int newNode = allocate(newElement);
+
+        if (isEmpty()) {
+            // 空列表，插入第一个元素
+            head = newNode;
+            cursor = newNode;
+            size = 1;
+        } else if (cursor == NIL) {
+            // 光标为空，插入到头部
+            next[newNode] = head;
+            head = newNode;
+            cursor = newNode;
+            size++;
+        } else {
+            // 在光标位置后插入元素
+            next[newNode] = next[cursor];
+            next[cursor] = newNode;
+            cursor = newNode; // 移动光标到新插入的元素
+            size++;
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        int removed = cursor;
+        if (cursor == head) {
+            // 删除头节点
+            head = next[head];
+            if (head == NIL) {
+                cursor = NIL; // 列表变空
+            } else {
+                cursor = head; // 光标移到新的头节点
+            }
+        } else {
+            // 删除非头节点
+            int prev = findPreviousNode(cursor);
+            if (prev != NIL) {
+                next[prev] = next[cursor];
+                if (next[cursor] == NIL) {
+                    // 删除的是最后一个节点，光标移到开头
+                    cursor = head;
+                } else {
+                    // 光标移到下一个节点
+                    cursor = next[cursor];
+                }
+            }
+        }
+        release(removed);
+        size--;
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null || cursor == NIL) {
+            return;
+        }
+
+        data[cursor] = newElement;
+    }
+
+    @Override
+    public void clear() {
+        // 所有槽位都空闲了，直接重置高水位，无需逐个放回空闲链表
+        used = 0;
+        freeHead = NIL;
+        head = NIL;
+        cursor = NIL;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = head;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        int current = head;
+        while (next[current] != NIL) {
+            current = next[current];
+        }
+        cursor = current;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor == NIL || next[cursor] == NIL) {
+            return false;
+        }
+        cursor = next[cursor];
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor == NIL || cursor == head) {
+            return false;
+        }
+
+        int prev = findPreviousNode(cursor);
+        if (prev != NIL) {
+            cursor = prev;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty() || cursor == NIL) {
+            return null;
+        }
+        return data[cursor];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 输出所有元素
+        for (int current = head; current != NIL; current = next[current]) {
+            pw.print(data[current]);
+            pw.print(' ');
+        }
+
+        // 计算光标位置
+        int cursorPos = getCursorPosition();
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursorPos + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size || cursor == NIL) {
+            return;
+        }
+
+        char element = data[cursor];
+
+        // 删除当前节点（槽位进入空闲链表，下面的 allocate 会立即复用它）
+        remove();
+
+        // 调整目标位置（因为删除了一个元素）
+        if (n >= size) {
+            n = size - 1; // 如果目标位置超出范围，移到最后一个位置
+        }
+
+        // 在位置n插入元素
+        int newNode = allocate(element);
+        if (n <= 0) {
+            // 插入到头部
+            next[newNode] = head;
+            head = newNode;
+        } else {
+            // 插入到中间或尾部
+            int current = head;
+            for (int i = 0; i < n - 1; i++) {
+                current = next[current];
+            }
+            next[newNode] = next[current];
+            next[current] = newNode;
+        }
+        cursor = newNode;
+        size++;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始搜索
+        char target = searchElement;
+        for (int current = cursor; current != NIL; current = next[current]) {
+            if (data[current] == target) {
+                cursor = current;
+                return true;
+            }
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        gotoEnd();
+        return false;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 沿 next[] 读取节点，trySplit 走到中点对半分开，不移动光标
+        return new ChainSpliterator(data, next, head, size);
+    }
+
+    // 辅助方法：分配一个节点槽位，优先复用空闲链表
+    private int allocate(char element) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = next[node];
+        } else {
+            if (used == data.length) {
+                grow();
+            }
+            node = used++;
+        }
+        data[node] = element;
+        next[node] = NIL;
+        return node;
+    }
+
+    // 辅助方法：把槽位放回空闲链表
+    private void release(int node) {
+        next[node] = freeHead;
+        freeHead = node;
+    }
+
+    // 辅助方法：槽位用完时把平行数组扩大一倍（不超过 capacity）
+    private void grow() {
+        int newLength = (int) Math.min((long) capacity, (long) data.length * 2);
+        data = Arrays.copyOf(data, newLength);
+        next = Arrays.copyOf(next, newLength);
+    }
+
+    // 辅助方法：找到指定节点的前一个节点
+    private int findPreviousNode(int target) {
+        if (target == NIL || target == head) {
+            return NIL;
+        }
+
+        int current = head;
+        while (current != NIL && next[current] != target) {
+            current = next[current];
+        }
+        return current;
+    }
+
+    // gotoPrev 是否为 O(1)（供包装器选择移动光标的方向）
+    @Override
+    public boolean hasFastGotoPrev() {
+        return false; // gotoPrev 要从头查找前驱
+    }
+
+    // 获取当前光标位置（用于调试）
+    @Override
+    public int getCursorPosition() {
+        if (isEmpty() || cursor == NIL) {
+            return -1;
+        }
+
+        int pos = 0;
+        for (int current = head; current != NIL && current != cursor; current = next[current]) {
+            pos++;
+        }
+        return pos;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+}
@@ -1,16 +1,54 @@
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
 
 /**
  * 基于顺序数组的List实现
  * 数据类型：Character
+ *
+ * 可以通过 setIndexed(true) 打开字符索引（见 OccurrenceIndex），打开后 find 为 O(log n)，
+ * 但每次修改都要同步维护索引，写多读少时应保持关闭（默认关闭）。
+ *
+ * openCursor() 返回的游标只记录一个下标（见 IndexCursors），创建为 O(1)；每次插入/删除按位置平移所有打开的游标，
+ * 代价与打开的游标数成正比。
+ *
+ * save/load 以二进制快照（见 SnapshotFormat）保存与恢复元素、光标与容量；索引与打开的游标不保存。
  */
-public class ArrayListImpl implements List<Character> {
+public class ArrayListImpl implements CharList {
     private static final int DEFAULT_CAPACITY = 512;
+    private static final int SNAPSHOT_BLOCK = 8192;     // save/load 时经 char[] 成块复制的元素个数
     private Character[] data;
     private int size;
     private int cursor;
     private int capacity;
     
+    // 可选的字符索引：labels 是与 data 平行的顺序标签数组，索引关闭时两者都为null
+    private long[] labels;
+    private OccurrenceIndex<Void> index;
+    
+    // 打开的附加游标（见 openCursor）
+    private final IndexCursors handles = new IndexCursors(new IndexCursors.Elements() {
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return data[index];
+        }
+        
+        @Override
+        public int indexOf(char target, int from) {
+            return ArrayListImpl.this.indexOf(target, from);
+        }
+    });
+    
     public ArrayListImpl() {
         this(DEFAULT_CAPACITY);
     }
@@ -42,6 +80,9 @@ public class ArrayListImpl implements List<Character> {
             for (int i = size; i > 0; i--) {
                 data[i] = data[i - 1];
             }
+            if (index != null) {
+                System.arraycopy(labels, 0, labels, 1, size);
+            }
             data[0] = newElement;
             cursor = 0;
             size++;
@@ -51,10 +92,17 @@ public class ArrayListImpl implements List<Character> {
             for (int i = size; i > cursor + 1; i--) {
                 data[i] = data[i - 1];
             }
+            if (index != null) {
+                System.arraycopy(labels, cursor + 1, labels, cursor + 2, size - cursor - 1);
+            }
             data[cursor + 1] = newElement;
             cursor++; // 移动光标到新插入的元素
             size++;
         }
+        if (index != null) {
+            indexInserted(cursor);
+        }
+        handles.inserted(cursor, 1);
     }
     
     @Override
@@ -63,11 +111,17 @@ public class ArrayListImpl implements List<Character> {
             return; // 空列表，什么都不做
         }
         
+        if (index != null) {
+            index.remove(data[cursor], labels[cursor]);
+            System.arraycopy(labels, cursor + 1, labels, cursor, size - cursor - 1);
+        }
+        
         // 将光标后的元素向前移动
         for (int i = cursor; i < size - 1; i++) {
             data[i] = data[i + 1];
         }
         size--;
+        handles.removed(cursor, 1);
         
         // 调整光标位置
         if (size == 0) {
@@ -84,13 +138,21 @@ public class ArrayListImpl implements List<Character> {
             return;
         }
         
+        if (index != null) {
+            index.remove(data[cursor], labels[cursor]);
+            index.add(newElement, labels[cursor], null);
+        }
         data[cursor] = newElement;
     }
     
     @Override
     public void clear() {
+        if (index != null) {
+            index.clear();
+        }
         size = 0;
         cursor = -1;
+        handles.cleared();
         // 不需要清空数组内容，size控制访问范围
     }
     
@@ -169,6 +231,11 @@ public class ArrayListImpl implements List<Character> {
         }
         
         Character element = data[cursor];
+        if (index != null) {
+            index.remove(element, labels[cursor]);
+            System.arraycopy(labels, cursor + 1, labels, cursor, size - cursor - 1);
+            System.arraycopy(labels, n, labels, n + 1, size - 1 - n);
+        }
         
         // 删除当前元素
         for (int i = cursor; i < size - 1; i++) {
@@ -182,6 +249,12 @@ public class ArrayListImpl implements List<Character> {
         }
         data[n] = element;
         size++;
+        if (index != null) {
+            indexInserted(n);
+        }
+        
+        // 停在被移动元素上的游标跟随它，其它游标按先删后插平移
+        handles.moved(cursor, n);
         cursor = n;
     }
     
@@ -191,19 +264,263 @@ public class ArrayListImpl implements List<Character> {
             return false;
         }
         
-        // 从光标位置开始搜索
-        for (int i = cursor; i < size; i++) {
-            if (data[i].equals(searchElement)) {
-                cursor = i;
-                return true;
+        int found = indexOf(searchElement, cursor);
+        if (found < 0) {
+            // 如果没找到，光标移到最后一个元素
+            cursor = size - 1;
+            return false;
+        }
+        cursor = found;
+        return true;
+    }
+    
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        if (isEmpty() || sequence == null) {
+            return false;
+        }
+        if (sequence.length() == 0) {
+            return true;
+        }
+        
+        // 直接在数组上做 KMP 匹配，光标只移动一次
+        int found = new SequenceMatcher(sequence).indexIn(data, cursor, size);
+        cursor = (found < 0) ? size - 1 : found;
+        return found >= 0;
+    }
+    
+    @Override
+    public ListCursor<Character> openCursor() {
+        return handles.open(cursor);
+    }
+    
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        int count = elements.length();
+        if (count == 0) {
+            return;
+        }
+        if (size + count > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        if (index != null) {
+            CharList.super.insertAll(elements); // 容量已检查，逐个元素维护索引
+            return;
+        }
+        
+        // 光标后的元素一次性后移 count 格，再依次填入新元素
+        int pos = cursor + 1;
+        System.arraycopy(data, pos, data, pos + count, size - pos);
+        for (int i = 0; i < count; i++) {
+            data[pos + i] = elements.charAt(i);
+        }
+        size += count;
+        cursor = pos + count - 1; // 光标移到最后插入的元素
+        handles.inserted(pos, count);
+    }
+    
+    @Override
+    public void removeRange(int count) {
+        if (index != null) {
+            CharList.super.removeRange(count); // 逐个元素维护索引
+            return;
+        }
+        if (isEmpty() || count <= 0) {
+            return;
+        }
+        if (count >= size) {
+            clear();
+            return;
+        }
+        
+        // 先删除从光标开始到末尾为止的部分（一次 arraycopy 前移）
+        int removed = Math.min(count, size - cursor);
+        System.arraycopy(data, cursor + removed, data, cursor, size - cursor - removed);
+        size -= removed;
+        handles.removed(cursor, removed);
+        if (cursor >= size) {
+            // 删到了末尾，光标回到开头，剩余的删除从开头继续
+            cursor = 0;
+            int rest = count - removed;
+            System.arraycopy(data, rest, data, 0, size - rest);
+            size -= rest;
+            handles.removed(0, rest);
+        }
+    }
+    
+    @Override
+    public void replaceRange(CharSequence elements) {
+        if (index != null) {
+            CharList.super.replaceRange(elements); // 逐个元素维护索引
+            return;
+        }
+        if (isEmpty() || elements.length() == 0) {
+            return;
+        }
+        
+        int count = Math.min(elements.length(), size - cursor);
+        for (int i = 0; i < count; i++) {
+            data[cursor + i] = elements.charAt(i);
+        }
+        cursor += count - 1; // 光标停在最后替换的元素
+    }
+    
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (index != null || !(other instanceof ArrayListImpl)) {
+            // 先复制并数出 other 的元素（见 CharList.toCharArray），检查容量之后才移动光标、插入
+            char[] elements = CharList.toCharArray(other);
+            if (size + elements.length > capacity) {
+                throw new ListException("List is full, cannot insert new element");
             }
+            if (elements.length > 0) {
+                gotoEnd();
+                insertAll(CharBuffer.wrap(elements));
+            }
+            return;
+        }
+        ArrayListImpl source = (ArrayListImpl) other;
+        if (source.size == 0) {
+            return;
+        }
+        if (size + source.size > capacity) {
+            throw new ListException("List is full, cannot insert new element");
         }
         
-        // 如果没找到，光标移到最后一个元素
-        if (size > 0) {
-            cursor = size - 1;
+        // 同类实现之间直接整段拷贝
+        System.arraycopy(source.data, 0, data, size, source.size);
+        size += source.size;
+        cursor = size - 1;
+    }
+    
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 直接按下标读取数组，trySplit 对半切分下标区间
+        Character[] elements = data;
+        return new CharSpliterator(i -> elements[i], 0, size);
+    }
+    
+    /**
+     * 把元素、光标与容量写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST, size, cursor, capacity, 0);
+        char[] block = new char[Math.min(size, SNAPSHOT_BLOCK)];
+        for (int start = 0; start < size; start += block.length) {
+            int n = Math.min(block.length, size - start);
+            for (int i = 0; i < n; i++) {
+                block[i] = data[start + i];
+            }
+            out.putChars(block, 0, n);
+        }
+        out.finish();
+    }
+    
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个列表，不关闭通道
+     */
+    public static ArrayListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        ArrayListImpl list = new ArrayListImpl(in.capacity());
+        char[] block = new char[Math.min(in.count(), SNAPSHOT_BLOCK)];
+        for (int start = 0; start < in.count(); start += block.length) {
+            int n = Math.min(block.length, in.count() - start);
+            in.getChars(block, 0, n);
+            for (int i = 0; i < n; i++) {
+                list.data[start + i] = block[i];
+            }
+        }
+        list.size = in.count();
+        list.cursor = in.cursor();
+        return list;
+    }
+    
+    // 辅助方法：从 from 开始（含）查找 target，返回下标，没有时返回-1
+    private int indexOf(char target, int from) {
+        if (index != null) {
+            // 在索引中取 from 之后（含）的第一次出现，再按标签二分得到下标
+            Map.Entry<Long, Void> hit = index.ceiling(target, labels[from]);
+            return (hit == null) ? -1 : Arrays.binarySearch(labels, 0, size, hit.getKey());
+        }
+        
+        // 先拆箱一次，循环内直接比较 char，不调用 equals
+        for (int i = from; i < size; i++) {
+            if (data[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 打开或关闭字符索引。打开时按当前内容建立索引，关闭时丢弃索引
+     */
+    public void setIndexed(boolean indexed) {
+        if (!indexed) {
+            labels = null;
+            index = null;
+        } else if (index == null) {
+            labels = new long[capacity];
+            index = new OccurrenceIndex<>();
+            relabelAll(-1);
+        }
+    }
+    
+    public boolean isIndexed() {
+        return index != null;
+    }
+    
+    // 辅助方法：为刚插入到 pos 的元素分配标签并加入索引（labels 已随 data 移动）
+    private void indexInserted(int pos) {
+        long before = (pos > 0) ? labels[pos - 1] : OccurrenceIndex.FIRST_BOUND;
+        long after = (pos < size - 1) ? labels[pos + 1] : OccurrenceIndex.LAST_BOUND;
+        long label = OccurrenceIndex.labelBetween(before, after);
+        if (label == OccurrenceIndex.NO_ROOM) {
+            relabelFrom(pos);
+        } else {
+            labels[pos] = label;
+        }
+        index.add(data[pos], labels[pos], null);
+    }
+    
+    // 辅助方法：从 pos 开始向后取一段元素重新均匀分配标签，段长逐次加倍直到间距足够，
+    // 一直到末尾都不够时全部重新分配。pos 处是尚未加入索引的新元素
+    private void relabelFrom(int pos) {
+        long lower = (pos > 0) ? labels[pos - 1] : OccurrenceIndex.FIRST_BOUND;
+        for (int count = 2; ; count *= 2) {
+            int end = (int) Math.min(size, (long) pos + count);
+            long upper = (end < size) ? labels[end] : OccurrenceIndex.LAST_BOUND;
+            long step = OccurrenceIndex.spacing(lower, upper, end - pos);
+            if (step != OccurrenceIndex.NO_ROOM) {
+                // 先删掉这一段的旧标签再加入新标签，避免新旧标签在同一棵树里相撞
+                for (int i = pos + 1; i < end; i++) {
+                    index.remove(data[i], labels[i]);
+                }
+                for (int i = pos; i < end; i++) {
+                    labels[i] = lower + (i - pos + 1) * step;
+                    if (i != pos) {
+                        index.add(data[i], labels[i], null);
+                    }
+                }
+                return;
+            }
+            if (end == size) {
+                relabelAll(pos);
+                return;
+            }
+        }
+    }
+    
+    // 辅助方法：全部重新分配标签并重建索引（fresh 处的新元素由调用者加入索引，-1 表示没有）
+    private void relabelAll(int fresh) {
+        index.clear();
+        long step = OccurrenceIndex.fullSpacing(size);
+        for (int i = 0; i < size; i++) {
+            labels[i] = (i + 1) * step;
+            if (i != fresh) {
+                index.add(data[i], labels[i], null);
+            }
         }
-        return false;
     }
     
     // 获取当前大小（用于调试）
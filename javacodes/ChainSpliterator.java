@@ -0,0 +1,70 @@
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * 数组池（arena）链表的 Spliterator（供 ArenaSinglyLinkedListImpl/ArenaDoublyLinkedListImpl 的 spliterator 使用）
+ *
+ * 节点是平行数组中的下标，data[node] 为元素、next[node] 为后继。覆盖从 node 开始沿 next 的 count 个节点，
+ * trySplit 沿链走到中点后对半分开（不复制元素），各部分的大小都是精确的（SIZED | SUBSIZED）。
+ * 只读取数组、不移动列表的光标；遍历期间不应修改列表。
+ */
+final class ChainSpliterator implements Spliterator.OfInt {
+    private final char[] data;
+    private final int[] next;
+    private int node;           // 下一个要读取的节点，count 为0时无意义
+    private int count;          // 剩余的节点数
+
+    ChainSpliterator(char[] data, int[] next, int node, int count) {
+        this.data = data;
+        this.next = next;
+        this.node = node;
+        this.count = count;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        int half = count >>> 1;
+        if (half == 0) {
+            return null;
+        }
+        // 前一半交给新的 Spliterator，本对象沿链走到中点，继续负责后一半
+        ChainSpliterator prefix = new ChainSpliterator(data, next, node, half);
+        for (int i = 0; i < half; i++) {
+            node = next[node];
+        }
+        count -= half;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (count == 0) {
+            return false;
+        }
+        action.accept(data[node]);
+        if (--count > 0) {
+            node = next[node];
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        for (; count > 0; count--) {
+            action.accept(data[node]);
+            if (count > 1) {
+                node = next[node];
+            }
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return count;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
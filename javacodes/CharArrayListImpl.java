@@ -0,0 +1,381 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Spliterator;
+
+/**
+ * 基于基本类型 char 数组的List实现（可自动扩容/缩容）
+ * 数据类型：Character
+ *
+ * 与 ArrayListImpl 的光标语义完全一致，但底层使用 char[] 存储，避免装箱；
+ * 数组按增长因子扩容、在使用率过低时缩容，只有达到用户设定的上限 hardLimit 时 isFull() 才返回 true。
+ * 热点循环可以使用 insertChar/replaceChar/getCursorChar/charAt/findChar 等基本类型方法，避免分配与拆箱。
+ *
+ * openCursor() 与 ArrayListImpl 相同，游标只记录一个下标（见 IndexCursors），每次插入/删除按位置平移。
+ *
+ * save/load 以二进制快照（见 SnapshotFormat）保存与恢复元素、光标与 hardLimit（作为快照的容量），
+ * 元素直接从 char[] 整段复制；扩容/缩容参数不保存，load 时取默认值。
+ */
+public class CharArrayListImpl implements CharList {
+    private static final int DEFAULT_HARD_LIMIT = 512;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final double DEFAULT_GROWTH_FACTOR = 2.0;
+    private static final double DEFAULT_SHRINK_RATIO = 0.25;
+
+    private char[] data;
+    private int size;
+    private int cursor;
+    private final int hardLimit;        // 元素个数上限
+    private final int initialCapacity;  // 缩容时数组长度的下限
+    private final double growthFactor;  // 扩容时数组长度乘以该因子
+    private final double shrinkRatio;   // 元素个数低于 数组长度*shrinkRatio 时缩容为一半
+
+    // 打开的附加游标（见 openCursor）
+    private final IndexCursors handles = new IndexCursors(new IndexCursors.Elements() {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return data[index];
+        }
+
+        @Override
+        public int indexOf(char target, int from) {
+            return CharScan.indexOf(data, from, size, target);
+        }
+    });
+
+    public CharArrayListImpl() {
+        this(DEFAULT_HARD_LIMIT);
+    }
+
+    public CharArrayListImpl(int hardLimit) {
+        this(Math.min(DEFAULT_INITIAL_CAPACITY, hardLimit), hardLimit, DEFAULT_GROWTH_FACTOR, DEFAULT_SHRINK_RATIO);
+    }
+
+    /**
+     * @param initialCapacity 初始数组长度（同时也是缩容的下限）
+     * @param hardLimit 元素个数上限，达到时 isFull() 返回 true
+     * @param growthFactor 扩容因子，必须大于1
+     * @param shrinkRatio 缩容阈值，取值 [0, 0.5)，为0时表示从不缩容
+     */
+    public CharArrayListImpl(int initialCapacity, int hardLimit, double growthFactor, double shrinkRatio) {
+        if (initialCapacity < 1 || hardLimit < 1 || initialCapacity > hardLimit) {
+            throw new IllegalArgumentException("需要满足 1 <= initialCapacity <= hardLimit");
+        }
+        if (growthFactor <= 1.0) {
+            throw new IllegalArgumentException("growthFactor 必须大于1");
+        }
+        if (shrinkRatio < 0 || shrinkRatio >= 0.5) {
+            throw new IllegalArgumentException("shrinkRatio 必须在 [0, 0.5) 之间");
+        }
+        this.initialCapacity = initialCapacity;
+        this.hardLimit = hardLimit;
+        this.growthFactor = growthFactor;
+        this.shrinkRatio = shrinkRatio;
+        this.data = new char[initialCapacity];
+        this.size = 0;
+        this.cursor = -1; // 空列表时光标为-1
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+        insertChar(newElement);
+    }
+
+    /**
+     * 基本类型版本的 insert：在光标后插入 c，并把光标移到 c
+     */
+    public void insertChar(char c) throws ListException {
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        if (size == data.length) {
+            resize(grownLength());
+        }
+
+        // 在光标位置后插入元素（空列表时 cursor = -1，即插入到位置0）
+        int pos = cursor + 1;
+        System.arraycopy(data, pos, data, pos + 1, size - pos);
+        data[pos] = c;
+        cursor = pos; // 移动光标到新插入的元素
+        size++;
+        handles.inserted(pos, 1);
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        // 将光标后的元素向前移动
+        System.arraycopy(data, cursor + 1, data, cursor, size - cursor - 1);
+        size--;
+        handles.removed(cursor, 1);
+
+        // 调整光标位置
+        if (size == 0) {
+            cursor = -1; // 列表变空
+        } else if (cursor >= size) {
+            cursor = 0; // 删除的是最后一个元素，光标移到开头
+        }
+        shrinkIfSparse();
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (newElement == null) {
+            return;
+        }
+        replaceChar(newElement);
+    }
+
+    /**
+     * 基本类型版本的 replace
+     */
+    public void replaceChar(char c) {
+        if (isEmpty()) {
+            return;
+        }
+        data[cursor] = c;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        cursor = -1;
+        handles.cleared();
+        shrinkIfSparse();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= hardLimit;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = size - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor >= size - 1) {
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor <= 0) {
+            return false;
+        }
+        cursor--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return data[cursor];
+    }
+
+    /**
+     * 基本类型版本的 getCursor
+     * Precondition: List is not empty.
+     */
+    public char getCursorChar() {
+        return data[cursor];
+    }
+
+    /**
+     * 返回第 index 个元素（从0开始），不移动光标
+     * Precondition: 0 <= index < size
+     */
+    public char charAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + size);
+        }
+        return data[index];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + hardLimit + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 输出所有元素
+        for (int i = 0; i < size; i++) {
+            pw.print(data[i]);
+            pw.print(' ');
+        }
+        pw.println("{capacity = " + hardLimit + ", length = " + size + ", cursor = " + cursor + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size || cursor < 0 || cursor >= size) {
+            return;
+        }
+
+        char element = data[cursor];
+        // 一次 arraycopy 把 [cursor, n] 之间的元素整体平移一格
+        if (n > cursor) {
+            System.arraycopy(data, cursor + 1, data, cursor, n - cursor);
+        } else if (n < cursor) {
+            System.arraycopy(data, n, data, n + 1, cursor - n);
+        }
+        data[n] = element;
+        handles.moved(cursor, n);
+        cursor = n;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (searchElement == null) {
+            return false;
+        }
+        return findChar(searchElement);
+    }
+
+    /**
+     * 基本类型版本的 find，光标后置条件与 find 相同
+     */
+    public boolean findChar(char c) {
+        if (isEmpty()) {
+            return false;
+        }
+
+        // 从光标位置开始批量扫描
+        int i = CharScan.indexOf(data, cursor, size, c);
+        if (i >= 0) {
+            cursor = i;
+            return true;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        cursor = size - 1;
+        return false;
+    }
+
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        if (isEmpty() || sequence == null) {
+            return false;
+        }
+        if (sequence.length() == 0) {
+            return true;
+        }
+        int i = new SequenceMatcher(sequence).indexIn(data, cursor, size);
+        cursor = (i < 0) ? size - 1 : i;
+        return i >= 0;
+    }
+
+    @Override
+    public ListCursor<Character> openCursor() {
+        return handles.open(cursor);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 直接按下标读取数组，trySplit 对半切分下标区间
+        char[] elements = data;
+        return new CharSpliterator(i -> elements[i], 0, size);
+    }
+
+    /**
+     * 把元素、光标与 hardLimit 写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST, size, cursor, hardLimit, 0);
+        out.putChars(data, 0, size);
+        out.finish();
+    }
+
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个列表，不关闭通道。
+     * 快照中的容量作为 hardLimit，其余参数取默认值
+     */
+    public static CharArrayListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        CharArrayListImpl list = new CharArrayListImpl(in.capacity());
+        if (in.count() > list.data.length) {
+            list.data = new char[in.count()];
+        }
+        in.getChars(list.data, 0, in.count());
+        list.size = in.count();
+        list.cursor = in.cursor();
+        return list;
+    }
+
+    // 辅助方法：计算扩容后的数组长度（至少加1，且不超过 hardLimit）
+    private int grownLength() {
+        long grown = (long) Math.ceil(data.length * growthFactor);
+        return (int) Math.min(hardLimit, Math.max(grown, data.length + 1L));
+    }
+
+    // 辅助方法：元素过少时把数组逐次减半（不低于初始长度）
+    private void shrinkIfSparse() {
+        int newLength = data.length;
+        while (newLength > initialCapacity && size < newLength * shrinkRatio) {
+            newLength = Math.max(initialCapacity, newLength / 2);
+        }
+        if (newLength != data.length) {
+            resize(newLength);
+        }
+    }
+
+    // 辅助方法：调整数组长度并拷贝已有元素
+    private void resize(int newLength) {
+        char[] newData = new char[newLength];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursor;
+    }
+
+    // 获取当前数组长度（用于调试）
+    public int getBufferLength() {
+        return data.length;
+    }
+}
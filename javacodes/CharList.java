@@ -0,0 +1,168 @@
+import java.nio.CharBuffer;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// 元素为字符的列表：在 List<Character> 之上增加以字符序列为参数的批量操作、多字符查找，以及按 char 的遍历。
+// 默认实现只借助 List 的单元素操作与光标，具体实现可以覆盖为直接访问存储的版本。
+public interface CharList extends List<Character> {
+	// ---------------- 查找 ----------------
+
+	default boolean findSequence(CharSequence sequence) {
+		if (isEmpty() || sequence == null) {
+			return false;
+		}
+		if (sequence.length() == 0) {
+			return true;
+		}
+		// 默认实现只能借助光标：光标逐个前进并喂给 KMP 匹配器，匹配成功后再退回到匹配的开头
+		SequenceMatcher matcher = new SequenceMatcher(sequence);
+		int matched = 0;
+		do {
+			matched = matcher.advance(matched, getCursor());
+			if (matched == matcher.length()) {
+				for (int i = 1; i < matched; i++) {
+					gotoPrev();
+				}
+				return true;
+			}
+		} while (gotoNext());
+		return false;
+	}
+	/*
+	 * Precondition:
+	 * List is not empty.
+	 * Postcondition:
+	 * Searches a list for the characters of sequence appearing consecutively, in order, with the first one at or after
+	 * the element marked by the cursor. If such an occurrence exists, moves the cursor to its first element and returns true.
+	 * Otherwise, leaves the cursor at the last element of the list and returns false (the same as find).
+	 * An empty sequence matches at the cursor without moving it.
+	 * The default implementation walks the cursor and steps back with gotoPrev after a match; the optimized
+	 * implementations scan the storage directly. None of them copies the list.
+	 */
+
+	// ---------------- 批量操作 ----------------
+
+	default void insertAll(CharSequence elements) throws ListException {
+		for (int i = 0; i < elements.length(); i++) {
+			insert(elements.charAt(i));
+		}
+	}
+	/*
+	 * Precondition:
+	 * List has room for elements.length() more elements.
+	 * PostCondition:
+	 * Equivalent to calling insert for each character of elements in order: the characters are inserted
+	 * after the cursor, keeping their order, and the cursor moves to the last inserted character.
+	 * If elements is empty, the list is unchanged.
+	 * If there is not enough space in the list, throw a ListException exception
+	 * (the optimized implementations check before modifying the list).
+	 */
+
+	default void replaceRange(CharSequence elements) {
+		if (isEmpty()) {
+			return;
+		}
+		for (int i = 0; i < elements.length(); i++) {
+			if (i > 0 && !gotoNext()) {
+				return;
+			}
+			replace(elements.charAt(i));
+		}
+	}
+	/*
+	 * Precondition:
+	 * List is not empty.
+	 * PostCondition:
+	 * Replaces the element marked by the cursor and the elements that follow it with the characters of
+	 * elements, in order. Stops early at the end of the list. The cursor is left at the last replaced element.
+	 */
+
+	@Override
+	default void appendFrom(List<? extends Character> other) throws ListException {
+		char[] elements = toCharArray(other);
+		if (elements.length == 0) {
+			return;
+		}
+		gotoEnd();
+		insertAll(CharBuffer.wrap(elements));
+	}
+	/*
+	 * Precondition:
+	 * other is not this list, and this list has room for all elements of other.
+	 * PostCondition:
+	 * Same as List.appendFrom. Copies other first (see toCharArray), then inserts the copy after the last
+	 * element with a single insertAll, so the capacity is checked before modifying the list wherever insertAll
+	 * checks it. A CharList other is left untouched; the optimized implementations copy a source of their own
+	 * class directly from its storage.
+	 */
+
+	static char[] toCharArray(List<? extends Character> list) {
+		if (list instanceof CharList) {
+			// 经 spliterator 读取，不移动 list 的光标
+			Spliterator.OfInt source = ((CharList) list).spliterator();
+			char[] elements = new char[(int) source.estimateSize()];
+			int[] next = {0};
+			source.forEachRemaining((int c) -> elements[next[0]++] = (char) c);
+			return elements;
+		}
+		StringBuilder builder = new StringBuilder();
+		if (list.gotoBeginning()) {
+			do {
+				builder.append(list.getCursor().charValue());
+			} while (list.gotoNext());
+		}
+		return builder.toString().toCharArray();
+	}
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Returns the elements of list, in order. A CharList is read through its spliterator and keeps its cursor;
+	 * any other List can only be read with its cursor, which is left at its last element.
+	 */
+
+	// ---------------- 遍历 ----------------
+
+	default Spliterator.OfInt spliterator() {
+		if (isEmpty()) {
+			return new CharSpliterator(i -> '\0', 0, 0);
+		}
+		// 默认实现只能借助光标：先数出光标之后的元素个数，从头读出全部元素，再把光标移回原处
+		int after = 0;
+		while (gotoNext()) {
+			after++;
+		}
+		StringBuilder builder = new StringBuilder();
+		gotoBeginning();
+		do {
+			builder.append((char) getCursor());
+		} while (gotoNext());
+		gotoBeginning();
+		for (int i = builder.length() - 1 - after; i > 0; i--) {
+			gotoNext();
+		}
+		char[] elements = builder.toString().toCharArray();
+		return new CharSpliterator(i -> elements[i], 0, elements.length);
+	}
+	/*
+	 * Precondition:
+	 * The list is not modified while the spliterator is in use.
+	 * PostCondition:
+	 * Returns an ORDERED, SIZED, NONNULL Spliterator.OfInt over the elements (as chars) from beginning to end.
+	 * The cursor is left where it was. The default implementation copies the elements using the cursor
+	 * (O(n), moving the cursor and restoring it); the optimized implementations read the storage directly,
+	 * never touch the cursor and split without copying.
+	 */
+
+	default IntStream chars() {
+		return StreamSupport.intStream(spliterator(), false);
+	}
+	/*
+	 * Precondition:
+	 * The list is not modified while the stream is in use.
+	 * PostCondition:
+	 * Returns a sequential IntStream of the elements (as chars) built on spliterator(); call parallel()
+	 * on it for parallel traversal.
+	 */
+}
@@ -0,0 +1,65 @@
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * 按下标访问的字符序列的 Spliterator（供可以 O(1) 按下标读取元素的 List 实现的 spliterator 使用）
+ *
+ * 覆盖下标区间 [index, fence)，trySplit 把区间对半分开，各部分的大小都是精确的（SIZED | SUBSIZED），
+ * 因此并行流可以一直均匀地切分下去。只读取数据、不移动列表的光标；遍历期间不应修改列表。
+ */
+final class CharSpliterator implements Spliterator.OfInt {
+
+    // 读取第 index 个元素
+    interface CharAt {
+        char charAt(int index);
+    }
+
+    private final CharAt source;
+    private int index;          // 下一个要读取的下标
+    private final int fence;    // 区间终点（不含）
+
+    CharSpliterator(CharAt source, int origin, int fence) {
+        this.source = source;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        // 前一半交给新的 Spliterator，本对象继续负责后一半
+        CharSpliterator prefix = new CharSpliterator(source, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(source.charAt(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        for (int i = index; i < fence; i++) {
+            action.accept(source.charAt(i));
+        }
+        index = fence;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
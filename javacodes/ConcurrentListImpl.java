@@ -0,0 +1,615 @@
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 可在多个线程之间共享的List实现
+ * 数据类型：Character
+ *
+ * - 底层为 char 数组，光标语义与 ArrayListImpl 一致
+ * - 每个线程有自己的光标（ThreadLocal），读线程之间不会争用同一个光标
+ * - 只读操作（getCursor/find/showStructure/gotoXxx 等）使用 StampedLock 的乐观读：
+ *   先不加锁读取，读完后校验期间是否有写入，有写入才退回读锁重读，因此读线程之间互不阻塞
+ * - 修改操作（insert/remove/replace/clear/moveToNth 及批量操作）持有写锁，同一时刻只有一个写线程
+ *
+ * 其它线程的修改不会移动本线程的光标：光标只记录下标，使用时截断到 [0, 长度-1]，
+ * 因此其它线程在光标之前插入/删除后，本线程的光标会落在相邻的元素上。
+ *
+ * openCursor() 返回的游标与之不同：它记录一个下标（见 IndexCursors），任何线程的修改都会在写锁内
+ * 按位置平移它，因此它始终标记同一个元素。游标的移动与读取持有读锁，打开/关闭持有写锁；
+ * 一个游标只应由一个线程使用，不同线程的游标之间互不阻塞。
+ */
+public class ConcurrentListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int INITIAL_LENGTH = 16;
+
+    // 线程各自的光标
+    private static class Cursor {
+        int pos = -1;
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+    private char[] data;
+    private int size;
+    private final int capacity;
+
+    // 打开的附加游标（见 openCursor），由写锁保护
+    private final IndexCursors handles = new IndexCursors(new IndexCursors.Elements() {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return data[index];
+        }
+
+        @Override
+        public int indexOf(char target, int from) {
+            return CharScan.indexOf(data, from, size, target);
+        }
+    });
+
+    public ConcurrentListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentListImpl(int capacity) {
+        this.capacity = capacity;
+        this.data = new char[Math.max(1, Math.min(capacity, INITIAL_LENGTH))];
+        this.size = 0;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size >= capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (size == data.length) {
+                grow(size + 1);
+            }
+            // 在光标位置后插入元素（空列表时插入到开头）
+            int pos = clamp(cursor.pos, size) + 1;
+            System.arraycopy(data, pos, data, pos + 1, size - pos);
+            data[pos] = newElement;
+            size++;
+            handles.inserted(pos, 1);
+            cursor.pos = pos; // 移动光标到新插入的元素
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void remove() {
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0) {
+                return; // 空列表，什么都不做
+            }
+            int pos = clamp(cursor.pos, size);
+            System.arraycopy(data, pos + 1, data, pos, size - pos - 1);
+            size--;
+            handles.removed(pos, 1);
+
+            // 调整光标位置
+            if (size == 0) {
+                cursor.pos = -1; // 列表变空
+            } else if (pos >= size) {
+                cursor.pos = 0; // 删除的是最后一个元素，光标移到开头
+            } else {
+                cursor.pos = pos; // 光标指向原来的下一个元素
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (newElement == null) {
+            return;
+        }
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0) {
+                return;
+            }
+            int pos = clamp(cursor.pos, size);
+            data[pos] = newElement;
+            cursor.pos = pos;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            size = 0;
+            handles.cleared();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        cursors.get().pos = -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return currentSize() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return currentSize() >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (currentSize() == 0) {
+            return false;
+        }
+        cursors.get().pos = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        int n = currentSize();
+        if (n == 0) {
+            return false;
+        }
+        cursors.get().pos = n - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        Cursor cursor = cursors.get();
+        int n = currentSize();
+        int pos = clamp(cursor.pos, n);
+        if (n == 0 || pos >= n - 1) {
+            cursor.pos = pos;
+            return false;
+        }
+        cursor.pos = pos + 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        Cursor cursor = cursors.get();
+        int n = currentSize();
+        int pos = clamp(cursor.pos, n);
+        if (n == 0 || pos <= 0) {
+            cursor.pos = pos;
+            return false;
+        }
+        cursor.pos = pos - 1;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        Cursor cursor = cursors.get();
+        long stamp = lock.tryOptimisticRead();
+        char[] d = data;
+        int pos = clamp(cursor.pos, size);
+        char element = (pos >= 0 && pos < d.length) ? d[pos] : 0;
+        if (!lock.validate(stamp)) {
+            // 读的过程中有写入，改为持有读锁重读
+            stamp = lock.readLock();
+            try {
+                pos = clamp(cursor.pos, size);
+                element = (pos >= 0) ? data[pos] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        cursor.pos = pos;
+        return (pos >= 0) ? element : null;
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        // 先取一份一致的快照，输出时不持有锁
+        char[] snapshot = snapshot();
+        if (snapshot.length == 0) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 输出所有元素
+        for (char c : snapshot) {
+            pw.print(c);
+            pw.print(' ');
+        }
+        int pos = clamp(cursors.get().pos, snapshot.length);
+        pw.println("{capacity = " + capacity + ", length = " + snapshot.length + ", cursor = " + pos + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0 || n < 0 || n >= size) {
+                return;
+            }
+            int pos = clamp(cursor.pos, size);
+            char element = data[pos];
+            if (n > pos) {
+                System.arraycopy(data, pos + 1, data, pos, n - pos);
+            } else if (n < pos) {
+                System.arraycopy(data, n, data, n + 1, pos - n);
+            }
+            data[n] = element;
+            handles.moved(pos, n);
+            cursor.pos = n;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (searchElement == null) {
+            return false;
+        }
+
+        // 乐观地从光标位置开始扫描，校验失败时持有读锁重新扫描
+        char target = searchElement;
+        Cursor cursor = cursors.get();
+        long stamp = lock.tryOptimisticRead();
+        char[] d = data;
+        int n = Math.min(size, d.length);
+        int pos = clamp(cursor.pos, n);
+        int hit = (pos >= 0) ? CharScan.indexOf(d, pos, n, target) : -1;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                pos = clamp(cursor.pos, n);
+                hit = (pos >= 0) ? CharScan.indexOf(data, pos, n, target) : -1;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (n == 0) {
+            cursor.pos = -1;
+            return false;
+        }
+        if (hit >= 0) {
+            cursor.pos = hit;
+            return true;
+        }
+        // 如果没找到，光标移到最后一个元素
+        cursor.pos = n - 1;
+        return false;
+    }
+
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        if (sequence == null) {
+            return false;
+        }
+
+        // 与 find 相同：乐观地在数组上做 KMP 匹配，校验失败时持有读锁重新匹配
+        SequenceMatcher matcher = (sequence.length() > 0) ? new SequenceMatcher(sequence) : null;
+        Cursor cursor = cursors.get();
+        long stamp = lock.tryOptimisticRead();
+        char[] d = data;
+        int n = Math.min(size, d.length);
+        int pos = clamp(cursor.pos, n);
+        int hit = (pos >= 0 && matcher != null) ? matcher.indexIn(d, pos, n) : pos;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                pos = clamp(cursor.pos, n);
+                hit = (pos >= 0 && matcher != null) ? matcher.indexIn(data, pos, n) : pos;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (n == 0) {
+            cursor.pos = -1;
+            return false;
+        }
+        if (hit >= 0) {
+            cursor.pos = hit;
+            return true;
+        }
+        // 如果没找到，光标移到最后一个元素
+        cursor.pos = n - 1;
+        return false;
+    }
+
+    @Override
+    public ListCursor<Character> openCursor() {
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            return new LockedCursor(handles.open(clamp(cursor.pos, size)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        int count = elements.length();
+        if (count == 0) {
+            return;
+        }
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size + count > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (size + count > data.length) {
+                grow(size + count);
+            }
+            // 光标后的元素一次性后移 count 格，再依次填入新元素
+            int pos = clamp(cursor.pos, size) + 1;
+            System.arraycopy(data, pos, data, pos + count, size - pos);
+            for (int i = 0; i < count; i++) {
+                data[pos + i] = elements.charAt(i);
+            }
+            size += count;
+            handles.inserted(pos, count);
+            cursor.pos = pos + count - 1; // 光标移到最后插入的元素
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void removeRange(int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0) {
+                return;
+            }
+            if (count >= size) {
+                size = 0;
+                handles.cleared();
+                cursor.pos = -1;
+                return;
+            }
+            // 先删除从光标开始到末尾为止的部分，删到末尾时光标回到开头，剩余的删除从开头继续
+            int pos = clamp(cursor.pos, size);
+            int removed = Math.min(count, size - pos);
+            System.arraycopy(data, pos + removed, data, pos, size - pos - removed);
+            size -= removed;
+            handles.removed(pos, removed);
+            if (pos >= size) {
+                pos = 0;
+                int rest = count - removed;
+                System.arraycopy(data, rest, data, 0, size - rest);
+                size -= rest;
+                handles.removed(0, rest);
+            }
+            cursor.pos = pos;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void replaceRange(CharSequence elements) {
+        if (elements.length() == 0) {
+            return;
+        }
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0) {
+                return;
+            }
+            int pos = clamp(cursor.pos, size);
+            int count = Math.min(elements.length(), size - pos);
+            for (int i = 0; i < count; i++) {
+                data[pos + i] = elements.charAt(i);
+            }
+            cursor.pos = pos + count - 1; // 光标停在最后替换的元素
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (other.isEmpty()) {
+            return;
+        }
+
+        // 先取出 other 的全部元素（见 CharList.toCharArray），再在一次写锁内追加到末尾
+        char[] elements = (other instanceof ConcurrentListImpl)
+                ? ((ConcurrentListImpl) other).snapshot()
+                : CharList.toCharArray(other);
+
+        Cursor cursor = cursors.get();
+        long stamp = lock.writeLock();
+        try {
+            int count = elements.length;
+            if (size + count > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (size + count > data.length) {
+                grow(size + count);
+            }
+            System.arraycopy(elements, 0, data, size, count);
+            size += count;
+            cursor.pos = size - 1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 遍历一份一致的拷贝：之后其它线程的修改不影响遍历，也不需要在遍历期间持有锁
+        char[] elements = snapshot();
+        return new CharSpliterator(i -> elements[i], 0, elements.length);
+    }
+
+    // openCursor 返回的游标：移动与读取持有读锁（游标只被一个线程使用，读锁足以排除修改列表的写线程），
+    // 关闭时持有写锁
+    private class LockedCursor implements ListCursor<Character> {
+        private final ListCursor<Character> handle;
+
+        LockedCursor(ListCursor<Character> handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public boolean gotoBeginning() {
+            long stamp = lock.readLock();
+            try {
+                return handle.gotoBeginning();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public boolean gotoEnd() {
+            long stamp = lock.readLock();
+            try {
+                return handle.gotoEnd();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public boolean gotoNext() {
+            long stamp = lock.readLock();
+            try {
+                return handle.gotoNext();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public boolean gotoPrev() {
+            long stamp = lock.readLock();
+            try {
+                return handle.gotoPrev();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public Character getCursor() {
+            long stamp = lock.readLock();
+            try {
+                return handle.getCursor();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public boolean find(Character searchElement) {
+            long stamp = lock.readLock();
+            try {
+                return handle.find(searchElement);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public void close() {
+            long stamp = lock.writeLock();
+            try {
+                handle.close();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // 辅助方法：取全部元素的一份一致的拷贝（乐观读，校验失败时持有读锁重新拷贝）
+    private char[] snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        char[] d = data;
+        char[] copy = Arrays.copyOf(d, Math.min(size, d.length));
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                copy = Arrays.copyOf(data, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return copy;
+    }
+
+    // 辅助方法：乐观地读取当前长度
+    private int currentSize() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return n;
+    }
+
+    // 辅助方法：把线程光标截断到 [0, n-1]，空列表时为-1
+    private static int clamp(int pos, int n) {
+        if (n <= 0) {
+            return -1;
+        }
+        return Math.max(0, Math.min(pos, n - 1));
+    }
+
+    // 辅助方法：把数组扩大一倍（至少容纳 minLength 个元素，不超过 capacity），调用者持有写锁
+    private void grow(int minLength) {
+        int newLength = (int) Math.min(capacity, Math.max((long) data.length * 2, minLength));
+        data = Arrays.copyOf(data, newLength);
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return currentSize();
+    }
+
+    // 获取当前线程的光标位置（用于调试）
+    public int getCursorPosition() {
+        return clamp(cursors.get().pos, currentSize());
+    }
+}
@@ -0,0 +1,167 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * 多生产者/多消费者（MPMC）的无界并发队列，API 与 ResizingQueue 相同（enqueue/dequeue/size/isEmpty），
+ * 可以由多个线程同时调用。
+ *
+ * 队列由固定大小（SEGMENT_SIZE 个槽位）的段链接而成，空间不够时在队尾链接一个新段，不需要像 ResizingQueue
+ * 那样整体拷贝；队头的段取完之后随 head 前移而被回收。
+ * - 入队：对尾段的 enqueueIndex 做 getAndAdd 领取一个槽位，再用 CAS 把元素放进这个空槽位；
+ *   领到的下标超出段的范围时，链接（或帮助链接）下一个段并前移 tail；
+ * - 出队：对头段的 dequeueIndex 做 getAndAdd 领取一个槽位，再用 getAndSet 取走元素并留下 TAKEN 标记；
+ *   如果入队者领了这个槽位还没来得及写入，出队者留下的 TAKEN 会让入队者的 CAS 失败，入队者改领下一个槽位。
+ * 线程之间只在段的两个下标上竞争 getAndAdd（不会失败重试），而不是在同一个 head/tail 上反复 CAS。
+ *
+ * 元素不能为 null（dequeue 用 null 表示队列为空）。size() 由头尾两个段的序号与下标算出，不需要额外的计数器
+ * （被作废的槽位入队、出队各领取了一次，正好抵消），并发修改时只是近似值。
+ */
+public class ConcurrentSegmentQueue<T> {
+    private static final int SEGMENT_SIZE = 1024;
+    private static final Object TAKEN = new Object();      // 已被出队者取走（或作废）的槽位
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle ENQUEUE_INDEX;
+    private static final VarHandle DEQUEUE_INDEX;
+    private static final VarHandle NEXT;
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ENQUEUE_INDEX = lookup.findVarHandle(Segment.class, "enqueueIndex", int.class);
+            DEQUEUE_INDEX = lookup.findVarHandle(Segment.class, "dequeueIndex", int.class);
+            NEXT = lookup.findVarHandle(Segment.class, "next", Segment.class);
+            HEAD = lookup.findVarHandle(ConcurrentSegmentQueue.class, "head", Segment.class);
+            TAIL = lookup.findVarHandle(ConcurrentSegmentQueue.class, "tail", Segment.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 段：slots 中 [0, enqueueIndex) 的槽位已被入队者领取，[0, dequeueIndex) 已被出队者领取
+    private static final class Segment {
+        final Object[] slots = new Object[SEGMENT_SIZE];
+        final long ordinal;     // 第几个段（从 0 开始），用于计算 size
+        volatile int enqueueIndex;
+        volatile int dequeueIndex;
+        volatile Segment next;
+
+        Segment(long ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        // 新建一个以 first 为第一个元素的段
+        Segment(long ordinal, Object first) {
+            this(ordinal);
+            slots[0] = first;
+            enqueueIndex = 1;
+        }
+
+        // 在这个段之前（包括这个段）入队者或出队者领取过的槽位总数
+        long claimed(int index) {
+            return ordinal * SEGMENT_SIZE + Math.min(index, SEGMENT_SIZE);
+        }
+    }
+
+    private volatile Segment head;
+    private volatile Segment tail;
+
+    public ConcurrentSegmentQueue() {
+        Segment first = new Segment(0);
+        head = first;
+        tail = first;
+    }
+
+    /**
+     * 将元素element入队（线程安全，不会因为队列满而失败）
+     *
+     * @param element 要入队的元素，不能为 null
+     */
+    public void enqueue(T element) {
+        Objects.requireNonNull(element, "元素不能为 null");
+        while (true) {
+            Segment last = tail;
+            int index = (int) ENQUEUE_INDEX.getAndAdd(last, 1);
+            if (index < SEGMENT_SIZE) {
+                if (SLOT.compareAndSet(last.slots, index, null, element)) {
+                    return;
+                }
+                continue;   // 槽位已被出队者作废，重新领取
+            }
+            // 尾段已满：链接新段，或者帮助别的线程把 tail 前移到已经链接好的新段
+            if (last != tail) {
+                continue;
+            }
+            Segment next = last.next;
+            if (next == null) {
+                Segment segment = new Segment(last.ordinal + 1, element);
+                if (NEXT.compareAndSet(last, null, segment)) {
+                    TAIL.compareAndSet(this, last, segment);
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, last, next);
+            }
+        }
+    }
+
+    /**
+     * 将队头元素删除并返回（线程安全）
+     *
+     * @return 队头元素，如果队列为空则返回null
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        while (true) {
+            Segment first = head;
+            // 先检查是否为空，避免空队列上的出队者领取并作废入队者还没有领取的槽位
+            if (isDrained(first)) {
+                return null;
+            }
+            int index = (int) DEQUEUE_INDEX.getAndAdd(first, 1);
+            if (index >= SEGMENT_SIZE) {
+                // 头段已取完，前移到下一个段
+                Segment next = first.next;
+                if (next == null) {
+                    return null;
+                }
+                HEAD.compareAndSet(this, first, next);
+                continue;
+            }
+            Object element = SLOT.getAndSet(first.slots, index, TAKEN);
+            if (element == null) {
+                continue;   // 入队者领了这个槽位但还没有写入，槽位已作废，入队者会改领下一个
+            }
+            return (T) element;
+        }
+    }
+
+    /**
+     * 返回队列中的元素个数（其他线程同时读写时只是一个近似值）
+     *
+     * @return 队列中的元素个数
+     */
+    public int size() {
+        Segment first = head;
+        long dequeued = first.claimed(first.dequeueIndex);
+        Segment last = tail;
+        long enqueued = last.claimed(last.enqueueIndex);
+        return (int) Math.max(0, Math.min(enqueued - dequeued, Integer.MAX_VALUE));
+    }
+
+    /**
+     * 判断队列是否为空（其他线程同时读写时只反映某一时刻的状态）
+     *
+     * @return 如果队列为空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return isDrained(head);
+    }
+
+    // 辅助方法：segment 是最后一个段，并且已领取的槽位都已被出队者领取（争用时 enqueueIndex 可能超过 SEGMENT_SIZE）
+    private static boolean isDrained(Segment segment) {
+        return segment.dequeueIndex >= Math.min(segment.enqueueIndex, SEGMENT_SIZE) && segment.next == null;
+    }
+}
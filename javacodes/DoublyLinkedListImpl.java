@@ -1,10 +1,31 @@
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 
 /**
  * 基于双向链表的List实现
  * 数据类型：Character
+ *
+ * 可以通过 setIndexed(true) 打开字符索引（见 OccurrenceIndex），打开后 find 为 O(log n)，
+ * 但每次修改都要同步维护索引，写多读少时应保持关闭（默认关闭）。
+ *
+ * openCursor() 返回的游标直接指向节点，插入不影响它们；删除节点时把停在该节点上的游标移到后继，
+ * 代价与打开的游标数成正比。有游标打开时 removeRange 逐个元素删除。clear 只把代数 epoch 加一，
+ * 游标下次使用时发现代数不同才失效，因此 clear 的耗时与游标数无关。
+ *
+ * 可以通过 setPooled(true) 打开节点复用（默认关闭）：删除的节点进入本列表的空闲池，插入时优先从池中取，
+ * 池中最多保留 capacity 个节点。clear 不逐个断开节点，而是把整条链原样挂到池中（O(1)），
+ * 之后插入时再从链上逐个取用；反复清空再填充的负载在稳定后几乎不再分配新节点。
+ *
+ * save/load 以二进制快照（见 SnapshotFormat）保存与恢复元素、光标与容量；索引、节点复用与打开的游标不保存。
  */
-public class DoublyLinkedListImpl implements List<Character> {
+public class DoublyLinkedListImpl implements CharList {
     private static final int DEFAULT_CAPACITY = 512;
     
     // 双向链表节点
@@ -12,6 +33,7 @@ public class DoublyLinkedListImpl implements List<Character> {
         Character data;
         Node next;
         Node prev;
+        long label;     // 顺序标签，仅在打开索引时使用
         
         Node(Character data) {
             this.data = data;
@@ -24,6 +46,17 @@ public class DoublyLinkedListImpl implements List<Character> {
     private Node cursor;
     private int size;
     private int capacity;
+    private OccurrenceIndex<Node> index; // 可选的字符索引，关闭时为null
+    
+    // 打开的附加游标（见 openCursor）
+    private Handle[] handles = new Handle[0];
+    private int handleCount;
+    private int epoch;          // clear 的次数，游标记录的代数与之不同时说明列表在此期间被清空过
+    
+    // 节点空闲池（见 setPooled）：经由 next 相连的空闲节点链，节点的其余字段在取用时才重置
+    private boolean pooled;
+    private Node free;
+    private int freeCount;      // 池中节点数，不超过 capacity
     
     public DoublyLinkedListImpl() {
         this(DEFAULT_CAPACITY);
@@ -46,7 +79,7 @@ public class DoublyLinkedListImpl implements List<Character> {
             throw new ListException("List is full, cannot insert new element");
         }
     
-        Node newNode = new Node(newElement);
+        Node newNode = newNode(newElement);
     
         if (isEmpty()) {
             // 空列表，插入第一个元素
@@ -73,6 +106,9 @@ public class DoublyLinkedListImpl implements List<Character> {
         }
         // 统一设置光标指向新节点
         cursor = newNode;
+        if (index != null) {
+            indexInserted(newNode);
+        }
     }
     
     @Override
@@ -80,6 +116,10 @@ public class DoublyLinkedListImpl implements List<Character> {
         if (isEmpty() || cursor == null) {
             return; // 空列表或光标为null，什么都不做
         }
+        if (index != null) {
+            index.remove(cursor.data, cursor.label);
+        }
+        Node removed = cursor;
         
         if (size == 1) {
             // 只有一个元素
@@ -103,6 +143,10 @@ public class DoublyLinkedListImpl implements List<Character> {
             cursor = cursor.next; // 光标移到下一个节点
         }
         size--;
+        retargetHandles(removed, cursor);
+        if (pooled) {
+            release(removed, removed, 1);
+        }
     }
     
     @Override
@@ -111,15 +155,26 @@ public class DoublyLinkedListImpl implements List<Character> {
             return;
         }
         
+        if (index != null) {
+            index.remove(cursor.data, cursor.label);
+            index.add(newElement, cursor.label, cursor);
+        }
         cursor.data = newElement;
     }
     
     @Override
     public void clear() {
+        if (index != null) {
+            index.clear();
+        }
+        if (pooled && head != null) {
+            release(head, tail, size); // 整条链原样放入空闲池
+        }
         head = null;
         tail = null;
         cursor = null;
         size = 0;
+        epoch++;
     }
     
     @Override
@@ -214,6 +269,9 @@ public class DoublyLinkedListImpl implements List<Character> {
         }
         
         Node nodeToMove = cursor;
+        if (index != null) {
+            index.remove(nodeToMove.data, nodeToMove.label);
+        }
         
         // 先断开当前节点
         if (nodeToMove.prev != null) {
@@ -266,6 +324,9 @@ public class DoublyLinkedListImpl implements List<Character> {
         
         cursor = nodeToMove;
         size++;  // 恢复size
+        if (index != null) {
+            indexInserted(nodeToMove);
+        }
     }
     
     @Override
@@ -275,22 +336,553 @@ public class DoublyLinkedListImpl implements List<Character> {
         }
         
         // 从光标位置开始搜索（如果cursor为null，从head开始）
-        Node current = (cursor != null) ? cursor : head;
-        while (current != null) {
-            if (current.data.equals(searchElement)) {
-                cursor = current;
+        Node found = findFrom((cursor != null) ? cursor : head, searchElement);
+        if (found == null) {
+            // 如果没找到，光标移到最后一个元素
+            gotoEnd();
+            return false;
+        }
+        cursor = found;
+        return true;
+    }
+    
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        if (isEmpty() || sequence == null) {
+            return false;
+        }
+        if (cursor == null) {
+            cursor = head;
+        }
+        if (sequence.length() == 0) {
+            return true;
+        }
+        
+        // 沿链逐个节点喂给 KMP 匹配器；光标作为候选匹配的开头跟在后面，
+        // 候选开头（当前下标 - 已匹配数 + 1）只会向后移动，两个指针合计各走一遍
+        SequenceMatcher matcher = new SequenceMatcher(sequence);
+        int m = matcher.length();
+        int matched = 0;
+        int lag = 0;    // 当前节点与光标的距离
+        for (Node current = cursor; current != null; current = current.next, lag++) {
+            matched = matcher.advance(matched, current.data);
+            if (matched == m) {
+                for (; lag >= m; lag--) {
+                    cursor = cursor.next;
+                }
                 return true;
             }
+            for (; lag >= matched; lag--) {
+                cursor = cursor.next;
+            }
+        }
+        cursor = tail; // 如果没找到，光标移到最后一个元素
+        return false;
+    }
+    
+    @Override
+    public ListCursor<Character> openCursor() {
+        if (handleCount == handles.length) {
+            handles = Arrays.copyOf(handles, Math.max(4, 2 * handles.length));
+        }
+        Handle handle = new Handle(cursor, handleCount, epoch);
+        handles[handleCount++] = handle;
+        return handle;
+    }
+    
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        int count = elements.length();
+        if (count == 0) {
+            return;
+        }
+        if (size + count > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        if (index != null) {
+            CharList.super.insertAll(elements); // 容量已检查，逐个元素维护索引
+            return;
+        }
+        
+        // 先建好一条新节点链，再整段接到光标之后
+        Node first = newNode(elements.charAt(0));
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            Node node = newNode(elements.charAt(i));
+            node.prev = last;
+            last.next = node;
+            last = node;
+        }
+        spliceAfter(cursor, first, last, count);
+    }
+    
+    @Override
+    public void removeRange(int count) {
+        if (index != null || handleCount > 0) {
+            CharList.super.removeRange(count); // 逐个元素维护索引与游标
+            return;
+        }
+        if (isEmpty() || cursor == null || count <= 0) {
+            return;
+        }
+        if (count >= size) {
+            clear();
+            return;
+        }
+        
+        // 先整段摘除从光标开始（最多到尾节点）的部分
+        Node last = cursor;
+        int removed = 1;
+        while (removed < count && last.next != null) {
+            last = last.next;
+            removed++;
+        }
+        size -= removed;
+        if (last != tail) {
+            // 光标移到被删除段之后的节点
+            Node after = last.next;
+            if (cursor.prev != null) {
+                cursor.prev.next = after;
+            } else {
+                head = after;
+            }
+            after.prev = cursor.prev;
+            if (pooled) {
+                release(cursor, last, removed);
+            }
+            cursor = after;
+            return;
+        }
+        
+        // 删到了末尾（此时光标前一定还有节点），光标回到开头，剩余的删除从开头继续
+        tail = cursor.prev;
+        tail.next = null;
+        if (pooled) {
+            release(cursor, last, removed);
+        }
+        Node newHead = head;
+        for (int i = removed; i < count; i++) {
+            newHead = newHead.next;
+        }
+        size -= count - removed;
+        if (pooled && newHead != head) {
+            release(head, newHead.prev, count - removed);
+        }
+        newHead.prev = null;
+        head = newHead;
+        cursor = head;
+    }
+    
+    @Override
+    public void replaceRange(CharSequence elements) {
+        if (index != null) {
+            CharList.super.replaceRange(elements); // 逐个元素维护索引
+            return;
+        }
+        if (isEmpty() || cursor == null) {
+            return;
+        }
+        
+        for (int i = 0; i < elements.length(); i++) {
+            if (i > 0) {
+                if (cursor.next == null) {
+                    return;
+                }
+                cursor = cursor.next;
+            }
+            cursor.data = elements.charAt(i);
+        }
+    }
+    
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (index != null || !(other instanceof DoublyLinkedListImpl)) {
+            // 先复制并数出 other 的元素（见 CharList.toCharArray），检查容量之后才移动光标、插入
+            char[] elements = CharList.toCharArray(other);
+            if (size + elements.length > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (elements.length > 0) {
+                gotoEnd();
+                insertAll(CharBuffer.wrap(elements));
+            }
+            return;
+        }
+        DoublyLinkedListImpl source = (DoublyLinkedListImpl) other;
+        if (source.isEmpty()) {
+            return;
+        }
+        if (size + source.size > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        
+        // 复制 source 的节点链（不移动 source 的光标），再整段接到尾部
+        Node first = newNode(source.head.data);
+        Node last = first;
+        for (Node current = source.head.next; current != null; current = current.next) {
+            Node node = newNode(current.data);
+            node.prev = last;
+            last.next = node;
+            last = node;
+        }
+        spliceAfter(tail, first, last, source.size);
+    }
+    
+    // 辅助方法：把 first..last 这条节点链（共 count 个）接到 anchor 之后（anchor 为null表示列表为空），光标移到 last
+    private void spliceAfter(Node anchor, Node first, Node last, int count) {
+        if (anchor == null) {
+            head = first;
+            tail = last;
+        } else {
+            last.next = anchor.next;
+            first.prev = anchor;
+            if (anchor.next != null) {
+                anchor.next.prev = last;
+            } else {
+                tail = last;
+            }
+            anchor.next = first;
+        }
+        size += count;
+        cursor = last;
+    }
+    
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new NodeSpliterator(head, size);
+    }
+    
+    /**
+     * 把元素、光标与容量写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST,
+                size, getCursorPosition(), capacity, 0);
+        for (Node current = head; current != null; current = current.next) {
+            out.putChar(current.data);
+        }
+        out.finish();
+    }
+    
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个列表，不关闭通道
+     */
+    public static DoublyLinkedListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        DoublyLinkedListImpl list = new DoublyLinkedListImpl(in.capacity());
+        Node last = null;
+        for (int i = 0; i < in.count(); i++) {
+            Node node = new Node(in.getChar());
+            if (last == null) {
+                list.head = node;
+            } else {
+                node.prev = last;
+                last.next = node;
+            }
+            last = node;
+            if (i == in.cursor()) {
+                list.cursor = node;
+            }
+        }
+        list.tail = last;
+        list.size = in.count();
+        return list;
+    }
+    
+    // 沿 next 指针遍历一段节点的 Spliterator（大小精确）：trySplit 沿链走过一半节点，把前一半切给新的 Spliterator
+    private static final class NodeSpliterator implements Spliterator.OfInt {
+        private static final int SPLIT_THRESHOLD = 1024; // 少于该数目时不再切分（切分本身要沿链走一半）
+        private Node current;
+        private int remaining;
+        
+        NodeSpliterator(Node first, int count) {
+            this.current = first;
+            this.remaining = count;
+        }
+        
+        @Override
+        public OfInt trySplit() {
+            if (remaining < SPLIT_THRESHOLD) {
+                return null;
+            }
+            int half = remaining >>> 1;
+            NodeSpliterator prefix = new NodeSpliterator(current, half);
+            for (int i = 0; i < half; i++) {
+                current = current.next;
+            }
+            remaining -= half;
+            return prefix;
+        }
+        
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (remaining == 0) {
+                return false;
+            }
+            action.accept(current.data);
             current = current.next;
+            remaining--;
+            return true;
         }
         
-        // 如果没找到，光标移到最后一个元素
-        gotoEnd();
-        return false;
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (Node node = current; remaining > 0; remaining--) {
+                action.accept(node.data);
+                node = node.next;
+            }
+            current = null;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+    
+    // 附加游标：直接指向节点，节点被删除时由列表移到后继
+    private class Handle implements ListCursor<Character> {
+        Node node;  // 游标所在的节点，不标记任何元素时为null
+        int slot;   // 在 handles 中的下标，关闭后为-1
+        int epoch;  // node 所属的代数（见 DoublyLinkedListImpl.epoch）
+        
+        Handle(Node node, int slot, int epoch) {
+            this.node = node;
+            this.slot = slot;
+            this.epoch = epoch;
+        }
+        
+        @Override
+        public boolean gotoBeginning() {
+            checkOpen();
+            node = head;
+            return node != null;
+        }
+        
+        @Override
+        public boolean gotoEnd() {
+            checkOpen();
+            node = tail;
+            return node != null;
+        }
+        
+        @Override
+        public boolean gotoNext() {
+            checkOpen();
+            Node next = (node != null) ? node.next : head;
+            if (next == null) {
+                return false;
+            }
+            node = next;
+            return true;
+        }
+        
+        @Override
+        public boolean gotoPrev() {
+            checkOpen();
+            if (node == null || node.prev == null) {
+                return false;
+            }
+            node = node.prev;
+            return true;
+        }
+        
+        @Override
+        public Character getCursor() {
+            checkOpen();
+            return (node != null) ? node.data : null;
+        }
+        
+        @Override
+        public boolean find(Character searchElement) {
+            checkOpen();
+            if (isEmpty() || searchElement == null) {
+                return false;
+            }
+            Node found = findFrom((node != null) ? node : head, searchElement);
+            node = (found != null) ? found : tail;
+            return found != null;
+        }
+        
+        @Override
+        public void close() {
+            if (slot < 0) {
+                return;
+            }
+            // 用最后一个游标填补空位
+            Handle last = handles[--handleCount];
+            handles[slot] = last;
+            last.slot = slot;
+            handles[handleCount] = null;
+            slot = -1;
+        }
+        
+        private void checkOpen() {
+            if (slot < 0) {
+                throw new IllegalStateException("Cursor is closed");
+            }
+            if (epoch != DoublyLinkedListImpl.this.epoch) {
+                // 列表在此期间被清空过，原来的节点可能已被复用
+                node = null;
+                epoch = DoublyLinkedListImpl.this.epoch;
+            }
+        }
+    }
+    
+    // 辅助方法：从 start 开始（含）查找 searchElement，没有时返回null
+    private Node findFrom(Node start, Character searchElement) {
+        if (index != null) {
+            // 在索引中取 start 之后（含）的第一次出现
+            Map.Entry<Long, Node> hit = index.ceiling(searchElement, start.label);
+            return (hit == null) ? null : hit.getValue();
+        }
+        for (Node current = start; current != null; current = current.next) {
+            if (current.data.equals(searchElement)) {
+                return current;
+            }
+        }
+        return null;
+    }
+    
+    // 辅助方法：把停在 from 上的游标移到 to
+    private void retargetHandles(Node from, Node to) {
+        for (int i = 0; i < handleCount; i++) {
+            if (handles[i].node == from) {
+                handles[i].node = to;
+            }
+        }
+    }
+    
+    /**
+     * 打开或关闭节点复用。关闭时丢弃空闲池
+     */
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+        if (!pooled) {
+            free = null;
+            freeCount = 0;
+        }
+    }
+    
+    public boolean isPooled() {
+        return pooled;
+    }
+    
+    // 空闲池中的节点数
+    public int getPooledCount() {
+        return freeCount;
+    }
+    
+    // 辅助方法：创建节点，打开节点复用时优先从空闲池取
+    private Node newNode(Character data) {
+        Node node = free;
+        if (node == null) {
+            return new Node(data);
+        }
+        free = node.next;
+        freeCount--;
+        node.data = data;
+        node.next = null;
+        node.prev = null;
+        return node;
+    }
+    
+    // 辅助方法：把已经摘下的节点链 first..last（共 count 个）整段放入空闲池，池放不下时交给GC
+    private void release(Node first, Node last, int count) {
+        if (freeCount + count > capacity) {
+            return;
+        }
+        last.next = free;
+        free = first;
+        freeCount += count;
+    }
+    
+    /**
+     * 打开或关闭字符索引。打开时按当前内容建立索引，关闭时丢弃索引
+     */
+    public void setIndexed(boolean indexed) {
+        if (!indexed) {
+            index = null;
+        } else if (index == null) {
+            index = new OccurrenceIndex<>();
+            relabelAll(null);
+        }
+    }
+    
+    public boolean isIndexed() {
+        return index != null;
+    }
+    
+    // 辅助方法：为刚链入的节点分配标签并加入索引
+    private void indexInserted(Node node) {
+        long before = (node.prev != null) ? node.prev.label : OccurrenceIndex.FIRST_BOUND;
+        long after = (node.next != null) ? node.next.label : OccurrenceIndex.LAST_BOUND;
+        long label = OccurrenceIndex.labelBetween(before, after);
+        if (label == OccurrenceIndex.NO_ROOM) {
+            relabelFrom(node);
+        } else {
+            node.label = label;
+        }
+        index.add(node.data, node.label, node);
+    }
+    
+    // 辅助方法：从 first 开始向后取一段节点重新均匀分配标签，段长逐次加倍直到间距足够，
+    // 一直到末尾都不够时全部重新分配。first 是尚未加入索引的新节点
+    private void relabelFrom(Node first) {
+        long lower = (first.prev != null) ? first.prev.label : OccurrenceIndex.FIRST_BOUND;
+        Node end = first;   // 段之后的第一个节点
+        int count = 0;
+        for (int target = 2; ; target *= 2) {
+            while (count < target && end != null) {
+                end = end.next;
+                count++;
+            }
+            long upper = (end != null) ? end.label : OccurrenceIndex.LAST_BOUND;
+            long step = OccurrenceIndex.spacing(lower, upper, count);
+            if (step != OccurrenceIndex.NO_ROOM) {
+                // 先删掉这一段的旧标签再加入新标签，避免新旧标签在同一棵树里相撞
+                for (Node current = first.next; current != end; current = current.next) {
+                    index.remove(current.data, current.label);
+                }
+                long label = lower;
+                for (Node current = first; current != end; current = current.next) {
+                    label += step;
+                    current.label = label;
+                    if (current != first) {
+                        index.add(current.data, label, current);
+                    }
+                }
+                return;
+            }
+            if (end == null) {
+                relabelAll(first);
+                return;
+            }
+        }
+    }
+    
+    // 辅助方法：全部重新分配标签并重建索引（fresh 是由调用者加入索引的新节点，可为null）
+    private void relabelAll(Node fresh) {
+        index.clear();
+        long step = OccurrenceIndex.fullSpacing(size);
+        long label = OccurrenceIndex.FIRST_BOUND;
+        for (Node current = head; current != null; current = current.next) {
+            label += step;
+            current.label = label;
+            if (current != fresh) {
+                index.add(current.data, label, current);
+            }
+        }
     }
     
     // 获取当前光标位置（用于调试）
-    private int getCursorPosition() {
+    @Override
+    public int getCursorPosition() {
         if (isEmpty() || cursor == null) {
             return -1;
         }
@@ -1,5 +1,6 @@
 import java.io.*;
 import java.util.Scanner;
+import java.util.function.UnaryOperator;
 
 /**
  * 提供文件相关的辅助方法：定位 data 目录路径、从测试文件运行测试并写入结果
@@ -101,6 +102,18 @@ public class FileImt {
 	 * 为 ResizingQueue 提供的重载：接受循环队列实例并按命令执行（只识别 enqueue/dequeue 命令）
 	 */
 	public static boolean runTests(String name, String testName, ResizingQueue<Integer> queue) {
+		return runQueueTests(name, testName, command -> ResizingQueueTest.processCommand(queue, command));
+	}
+
+	/**
+	 * 为 IntResizingQueue 提供的重载：命令与结果文件格式都与 ResizingQueue<Integer> 的版本相同，但入队不装箱
+	 */
+	public static boolean runTests(String name, String testName, IntResizingQueue queue) {
+		return runQueueTests(name, testName, command -> ResizingQueueTest.processCommand(queue, command));
+	}
+
+	// 辅助方法：逐个命令交给 processor 执行，processor 返回非 null 时写入结果文件
+	private static boolean runQueueTests(String name, String testName, UnaryOperator<String> processor) {
 		String inPath = getDataFilePath(testName);
 		// 去掉 testName 的扩展名再拼接结果文件名（例如 result1000.txt -> result1000_result.txt）
 		String baseName = testName;
@@ -123,7 +136,7 @@ public class FileImt {
 				for (String command : commands) {
 					if (command.isEmpty()) continue;
 					// 委托给 ResizingQueueTest 的 processCommand，以保持与 List 测试处理一致性
-					String out = ResizingQueueTest.processCommand(queue, command);
+					String out = processor.apply(command);
 					if (out != null) {
 						// 仅在遇到 '?' 时写入输出
 						resultWriter.println(out);
@@ -0,0 +1,320 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Spliterator;
+
+/**
+ * 基于间隙缓冲区（gap buffer）的List实现
+ * 数据类型：Character
+ *
+ * 元素存放在 buffer[0, gapStart) 与 buffer[gapEnd, buffer.length) 两段中，
+ * 中间的空闲区间称为"间隙"。插入/删除只在间隙边界上进行，
+ * 因此连续的光标处编辑为均摊 O(1)；只有光标跳转后再编辑时才需要移动间隙。
+ *
+ * openCursor() 返回的游标记录逻辑下标（见 IndexCursors），与间隙的位置无关，每次插入/删除按位置平移。
+ *
+ * save/load 以二进制快照（见 SnapshotFormat）保存与恢复元素、光标与容量，间隙前后两段直接整段复制；
+ * load 之后间隙位于末尾。
+ */
+public class GapBufferListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int INITIAL_BUFFER = 16;
+
+    private char[] buffer;
+    private int gapStart;   // 间隙起点（含）
+    private int gapEnd;     // 间隙终点（不含）
+    private int size;
+    private int cursor;     // 光标的逻辑位置，空列表时为-1
+    private int capacity;
+
+    // 打开的附加游标（见 openCursor）
+    private final IndexCursors handles = new IndexCursors(new IndexCursors.Elements() {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[physicalIndex(index)];
+        }
+
+        @Override
+        public int indexOf(char target, int from) {
+            return GapBufferListImpl.this.indexOf(target, from);
+        }
+    });
+
+    public GapBufferListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GapBufferListImpl(int capacity) {
+        this.capacity = capacity;
+        this.buffer = new char[Math.max(1, Math.min(capacity, INITIAL_BUFFER))];
+        this.gapStart = 0;
+        this.gapEnd = buffer.length;
+        this.size = 0;
+        this.cursor = -1; // 空列表时光标为-1
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 新元素插在光标之后（空列表时插在位置0）
+        moveGapTo(cursor + 1);
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        buffer[gapStart++] = newElement;
+        size++;
+        cursor++; // 移动光标到新插入的元素
+        handles.inserted(cursor, 1);
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        // 把间隙移到光标元素之后，光标元素即为间隙前的最后一个字符
+        moveGapTo(cursor + 1);
+        gapStart--;
+        size--;
+        handles.removed(cursor, 1);
+
+        // 调整光标位置
+        if (size == 0) {
+            cursor = -1; // 列表变空
+        } else if (cursor >= size) {
+            cursor = 0; // 删除的是最后一个元素，光标移到开头
+        }
+        // 否则光标保持在当前位置（即原来的下一个元素）
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null) {
+            return;
+        }
+
+        buffer[physicalIndex(cursor)] = newElement;
+    }
+
+    @Override
+    public void clear() {
+        gapStart = 0;
+        gapEnd = buffer.length;
+        size = 0;
+        cursor = -1;
+        handles.cleared();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = size - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor >= size - 1) {
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor <= 0) {
+            return false;
+        }
+        cursor--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return buffer[physicalIndex(cursor)];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 依次输出间隙前、间隙后两段元素
+        for (int i = 0; i < gapStart; i++) {
+            pw.print(buffer[i] + " ");
+        }
+        for (int i = gapEnd; i < buffer.length; i++) {
+            pw.print(buffer[i] + " ");
+        }
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursor + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size || cursor < 0 || cursor >= size) {
+            return;
+        }
+
+        // 删除当前元素
+        moveGapTo(cursor + 1);
+        char element = buffer[--gapStart];
+
+        // 在位置n插入元素（删除后腾出的一格保证间隙非空）
+        moveGapTo(n);
+        buffer[gapStart++] = element;
+        handles.moved(cursor, n);
+        cursor = n;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        int i = indexOf(searchElement, cursor);
+        if (i >= 0) {
+            cursor = i;
+            return true;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        cursor = size - 1;
+        return false;
+    }
+
+    @Override
+    public ListCursor<Character> openCursor() {
+        return handles.open(cursor);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 按逻辑下标读取，跳过间隙；trySplit 对半切分逻辑下标区间
+        char[] elements = buffer;
+        int split = gapStart;
+        int offset = gapEnd - gapStart;
+        return new CharSpliterator(i -> elements[i < split ? i : i + offset], 0, size);
+    }
+
+    /**
+     * 把元素、光标与容量写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST, size, cursor, capacity, 0);
+        out.putChars(buffer, 0, gapStart);
+        out.putChars(buffer, gapEnd, buffer.length - gapEnd);
+        out.finish();
+    }
+
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个列表，不关闭通道
+     */
+    public static GapBufferListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        GapBufferListImpl list = new GapBufferListImpl(in.capacity());
+        if (in.count() > list.buffer.length) {
+            list.buffer = new char[in.count()];
+        }
+        in.getChars(list.buffer, 0, in.count());
+        list.gapStart = in.count();
+        list.gapEnd = list.buffer.length;
+        list.size = in.count();
+        list.cursor = in.cursor();
+        return list;
+    }
+
+    // 辅助方法：逻辑位置 -> 缓冲区下标
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    // 辅助方法：从逻辑位置 from 开始（含）查找 target，先扫描间隙前的部分，再扫描间隙后的部分，
+    // 返回逻辑下标，没有时返回-1
+    private int indexOf(char target, int from) {
+        int i = CharScan.indexOf(buffer, from, gapStart, target);
+        if (i >= 0) {
+            return i;
+        }
+        int offset = gapEnd - gapStart;
+        i = CharScan.indexOf(buffer, Math.max(from, gapStart) + offset, buffer.length, target);
+        return (i >= 0) ? i - offset : -1;
+    }
+
+    // 辅助方法：把间隙移动到逻辑位置 index 处（即间隙前恰有 index 个元素）
+    private void moveGapTo(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    // 辅助方法：间隙用完时扩容（容量翻倍，但不超过 capacity）
+    private void grow() {
+        int newLength = (int) Math.min((long) capacity, Math.max(1L, (long) buffer.length * 2));
+        char[] newBuffer = new char[newLength];
+        int tail = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newLength - tail, tail);
+        buffer = newBuffer;
+        gapEnd = newLength - tail;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursor;
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.Arrays;
+
+/**
+ * 按下标记录位置的附加游标（见 List.openCursor），供按下标存放元素的 List 实现共用：
+ * 顺序数组、字符数组、间隙缓冲区与并发列表。
+ *
+ * 游标只记录一个下标，创建为 O(1)；列表的每次插入/删除/移动都要调用 inserted/removed/moved
+ * 平移所有打开的游标，代价与打开的游标数成正比，没有打开的游标时几乎没有额外开销。
+ * 游标通过 Elements 读取列表的长度与元素；本类本身不做任何同步。
+ */
+final class IndexCursors {
+    /**
+     * 游标读取列表内容的方式
+     */
+    interface Elements {
+        int size();
+
+        char charAt(int index);
+
+        // 从 from 开始（含）查找 target，返回下标，没有时返回-1
+        int indexOf(char target, int from);
+    }
+
+    private final Elements elements;
+    private Handle[] handles = new Handle[0];
+    private int count;
+
+    IndexCursors(Elements elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * 打开一个停在下标 pos 的游标（pos 为-1 表示不标记任何元素）
+     */
+    ListCursor<Character> open(int pos) {
+        if (count == handles.length) {
+            handles = Arrays.copyOf(handles, Math.max(4, 2 * handles.length));
+        }
+        Handle handle = new Handle(pos, count);
+        handles[count++] = handle;
+        return handle;
+    }
+
+    /**
+     * 在 from 处插入了 n 个元素，之后的游标后移
+     */
+    void inserted(int from, int n) {
+        for (int i = 0; i < count; i++) {
+            if (handles[i].pos >= from) {
+                handles[i].pos += n;
+            }
+        }
+    }
+
+    /**
+     * 从 from 开始删除了 n 个元素（列表长度已更新）。之后的游标前移，
+     * 停在被删元素上的游标移到被删段之后的元素，删到末尾时移到开头
+     */
+    void removed(int from, int n) {
+        int size = elements.size();
+        for (int i = 0; i < count; i++) {
+            Handle handle = handles[i];
+            if (handle.pos >= from + n) {
+                handle.pos -= n;
+            } else if (handle.pos >= from) {
+                handle.pos = (size == 0) ? -1 : (from >= size ? 0 : from);
+            }
+        }
+    }
+
+    /**
+     * 下标 from 的元素被移到了下标 to（moveToNth）。停在它上面的游标跟随它，其它游标按先删后插平移
+     */
+    void moved(int from, int to) {
+        for (int i = 0; i < count; i++) {
+            Handle handle = handles[i];
+            if (handle.pos == from) {
+                handle.pos = to;
+            } else {
+                if (handle.pos > from) {
+                    handle.pos--;
+                }
+                if (handle.pos >= to) {
+                    handle.pos++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 列表被清空，所有游标不再标记任何元素
+     */
+    void cleared() {
+        for (int i = 0; i < count; i++) {
+            handles[i].pos = -1;
+        }
+    }
+
+    // 附加游标：只记录下标，由列表的各个修改操作负责平移
+    private class Handle implements ListCursor<Character> {
+        int pos;    // 游标位置，不标记任何元素时为-1
+        int slot;   // 在 handles 中的下标，关闭后为-1
+
+        Handle(int pos, int slot) {
+            this.pos = pos;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean gotoBeginning() {
+            checkOpen();
+            if (elements.size() == 0) {
+                return false;
+            }
+            pos = 0;
+            return true;
+        }
+
+        @Override
+        public boolean gotoEnd() {
+            checkOpen();
+            int size = elements.size();
+            if (size == 0) {
+                return false;
+            }
+            pos = size - 1;
+            return true;
+        }
+
+        @Override
+        public boolean gotoNext() {
+            checkOpen();
+            int size = elements.size();
+            if (size == 0 || pos >= size - 1) {
+                return false;
+            }
+            pos++;
+            return true;
+        }
+
+        @Override
+        public boolean gotoPrev() {
+            checkOpen();
+            if (elements.size() == 0 || pos <= 0) {
+                return false;
+            }
+            pos--;
+            return true;
+        }
+
+        @Override
+        public Character getCursor() {
+            checkOpen();
+            if (pos < 0) {
+                return null;
+            }
+            return elements.charAt(pos);
+        }
+
+        @Override
+        public boolean find(Character searchElement) {
+            checkOpen();
+            int size = elements.size();
+            if (size == 0 || searchElement == null) {
+                return false;
+            }
+            int found = elements.indexOf(searchElement, Math.max(pos, 0));
+            pos = (found < 0) ? size - 1 : found;
+            return found >= 0;
+        }
+
+        @Override
+        public void close() {
+            if (slot < 0) {
+                return;
+            }
+            // 用最后一个游标填补空位
+            Handle last = handles[--count];
+            handles[slot] = last;
+            last.slot = slot;
+            handles[count] = null;
+            slot = -1;
+        }
+
+        private void checkOpen() {
+            if (slot < 0) {
+                throw new IllegalStateException("Cursor is closed");
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 元素为 int 的循环数组队列
+ * 扩容/缩容方案与 toString 格式都与 ResizingQueue 相同，但元素直接存放在 int[] 中，入队、出队不装箱
+ * （ResizingQueue<Integer> 每入队一个 -128..127 以外的整数就要分配一个 Integer）
+ */
+public class IntResizingQueue {
+    private int[] array;        // 循环数组
+    private int front;          // 队头指针
+    private int rear;           // 队尾指针
+    private int N;              // 当前队列的最大容量（能存储的元素个数）
+    private int size;           // 当前队列中的实际元素个数
+
+    /**
+     * 构造方法，初始化队列，初始容量N=2（与 ResizingQueue 相同）
+     */
+    public IntResizingQueue() {
+        N = 2;
+        array = new int[N];
+        front = 0;
+        rear = 0;
+        size = 0;
+    }
+
+    /**
+     * 将元素element入队
+     * 如果队列满，扩容到2N
+     *
+     * @param element 要入队的元素
+     */
+    public void enqueue(int element) {
+        if (size == N) {
+            resize(N * 2);
+        }
+        array[rear] = element;
+        rear = (rear + 1) % array.length;
+        size++;
+    }
+
+    /**
+     * 将队头元素删除并返回
+     * 如果出队后元素个数是当前容量的1/4，缩容到N/2
+     *
+     * @return 队头元素
+     * @throws NoSuchElementException 队列为空（int 没有 null 可以返回，调用前应先检查 isEmpty）
+     */
+    public int dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("队列为空，无法执行出队操作");
+        }
+        int element = array[front];
+        front = (front + 1) % array.length;
+        size--;
+        if (size == N / 4 && N > 2) {
+            resize(N / 2);
+        }
+        return element;
+    }
+
+    /**
+     * 按从队头到队尾的顺序把所有元素拷贝到 dest[offset..)，然后清空队列
+     * 与逐个 dequeue 不同，清空后保留当前容量、不缩容：像基数排序的桶那样反复 "装满 + 倒空" 时，
+     * 下一轮不必再从容量2重新扩容，稳定后不再分配数组
+     *
+     * @param dest 目标数组
+     * @param offset 写入的起始下标
+     * @return 取出的元素个数
+     * @throws IndexOutOfBoundsException dest 从 offset 开始放不下 size() 个元素
+     */
+    public int drainTo(int[] dest, int offset) {
+        int n = size;
+        Objects.checkFromIndexSize(offset, n, dest.length);
+        int firstPart = Math.min(n, array.length - front);
+        System.arraycopy(array, front, dest, offset, firstPart);
+        System.arraycopy(array, 0, dest, offset + firstPart, n - firstPart);
+        front = 0;
+        rear = 0;
+        size = 0;
+        return n;
+    }
+
+    /**
+     * 返回当前队列中的实际元素个数
+     *
+     * @return 队列中的元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断队列是否为空
+     *
+     * @return 如果队列为空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 调整数组空间大小，把 size 个元素按顺序拷贝到新数组的开头
+     *
+     * @param newN 新的队列容量（能存储的元素个数）
+     */
+    private void resize(int newN) {
+        int[] newArray = new int[newN];
+        for (int i = 0; i < size; i++) {
+            newArray[i] = array[(front + i) % array.length];
+        }
+        array = newArray;
+        N = newN;
+        front = 0;
+        rear = size;
+    }
+
+    /**
+     * 将当前队列中的元素转换为字符串，格式与 ResizingQueue.toString 相同
+     *
+     * @return 队列元素的字符串表示
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        if (size <= 20) {
+            for (int i = 0; i < size; i++) {
+                sb.append(array[(front + i) % array.length]);
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        } else {
+            for (int i = 0; i < 5; i++) {
+                sb.append(array[(front + i) % array.length]);
+                sb.append(" ");
+            }
+            sb.append(" ... ");
+            for (int i = size - 5; i < size; i++) {
+                sb.append(array[(front + i) % array.length]);
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        }
+        sb.append("]");
+        sb.append("\n");
+        sb.append("elements: " + size + " size:" + N);
+        return sb.toString();
+    }
+}
@@ -10,7 +10,7 @@ import java.util.Scanner;
 
 /**
  * 整数基数排序实现类
- * 使用ResizingQueue作为桶来实现整数的基数排序
+ * 使用IntResizingQueue作为桶来实现整数的基数排序（只支持非负整数）
  */
 public class IntegerRadixSort {
 
@@ -24,12 +24,35 @@ public class IntegerRadixSort {
             return array;
         }
         
+        // 拆箱后按 int[] 排序，每个元素只在写回时装箱一次，而不是每一趟都装箱入队
+        int[] values = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            values[i] = array[i];
+        }
+        sort(values);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values[i];
+        }
+        return array;
+    }
+    
+    /**
+     * 对 int 数组进行基数排序（原地），桶为 IntResizingQueue，排序过程中不装箱；
+     * 桶的数组只在第一趟扩容时分配，之后各趟不再分配
+     * @param array 待排序的整数数组
+     * @return 排序后的整数数组（即 array 本身）
+     */
+    public static int[] sort(int[] array) {
+        if (array == null || array.length <= 1) {
+            return array;
+        }
+        
         // 找出最大数，确定最大位数
         int max = findMax(array);
         int maxDigits = countDigits(max);
         
         // 创建10个队列作为桶（对应0-9的数字）
-        ResizingQueue<Integer>[] buckets = createBuckets();
+        IntResizingQueue[] buckets = createBuckets();
         
         int mod = 10; // 当前处理的位的模数
         int div = 1;  // 当前处理的位的除数
@@ -42,12 +65,10 @@ public class IntegerRadixSort {
                 buckets[digit].enqueue(num);
             }
             
-            // 将桶中的数据按顺序放回到数组中
+            // 将桶中的数据按顺序放回到数组中（drainTo 不缩容，下一趟复用桶的数组）
             int index = 0;
-            for (ResizingQueue<Integer> bucket : buckets) {
-                while (!bucket.isEmpty()) {
-                    array[index++] = bucket.dequeue();
-                }
+            for (IntResizingQueue bucket : buckets) {
+                index += bucket.drainTo(array, index);
             }
             
             // 更新模数和除数，准备处理下一位
@@ -59,7 +80,7 @@ public class IntegerRadixSort {
     }
     
     // 辅助方法：找出数组中的最大值
-    private static int findMax(Integer[] array) {
+    private static int findMax(int[] array) {
         int max = array[0];
         for (int num : array) {
             if (num > max) {
@@ -81,11 +102,10 @@ public class IntegerRadixSort {
     }
     
     // 辅助方法：创建整数排序的桶
-    private static ResizingQueue<Integer>[] createBuckets() {
-        @SuppressWarnings("unchecked")
-        ResizingQueue<Integer>[] buckets = new ResizingQueue[10];
+    private static IntResizingQueue[] createBuckets() {
+        IntResizingQueue[] buckets = new IntResizingQueue[10];
         for (int i = 0; i < 10; i++) {
-            buckets[i] = new ResizingQueue<>();
+            buckets[i] = new IntResizingQueue();
         }
         return buckets;
     }
@@ -130,24 +150,24 @@ public class IntegerRadixSort {
                 
                 // 假设每行包含多个整数，以空格分隔
                 String[] numberStrs = line.split("\\s+");
-                List<Integer> numbersInLine = new ArrayList<>();
+                int[] numbersInLine = new int[numberStrs.length];
+                int count = 0;
                 
                 // 解析每行的整数
                 for (String numStr : numberStrs) {
                     try {
                         int number = Integer.parseInt(numStr);
-                        numbersInLine.add(number);
+                        numbersInLine[count++] = number;
                     } catch (NumberFormatException e) {
                         System.err.println("第" + lineNumber + "行：跳过无效的数字格式: " + numStr);
                     }
                 }
                 
-                if (numbersInLine.isEmpty()) {
+                if (count == 0) {
                     System.out.println("第" + lineNumber + "行：无有效数字");
                 } else {
                     // 对当前行的数字进行排序
-                    Integer[] array = numbersInLine.toArray(new Integer[0]);
-                    Integer[] sortedArray = sort(array);
+                    int[] sortedArray = sort(Arrays.copyOf(numbersInLine, count));
                     
                     // 构建排序结果行
                     StringBuilder resultLine = new StringBuilder();
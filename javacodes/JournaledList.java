@@ -0,0 +1,510 @@
+import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+
+/**
+ * 带操作日志（undo/redo）的List包装器，可以包装任意 List&lt;Character&gt; 实现
+ * 数据类型：Character
+ *
+ * insert/remove/replace/moveToNth/clear 以紧凑的基本类型记录写入环形缓冲区
+ * （操作类型、操作前后的光标位置、新旧字符；只有 clear 需要额外保存被清空的内容），
+ * 缓冲区写满后最早的记录被覆盖。undo/redo 每一步只执行一次对应的逆操作/原操作，外加把光标移到操作位置。
+ * 每隔 checkpointInterval 次修改保存一次检查点（完整内容 + 光标），rewind(n) 在 n 较大时先恢复
+ * 离目标最近的检查点，再向前 redo 或向后 undo 到目标；目标之后一个间隔内总有检查点（目标之前的检查点
+ * 可能已随最早的记录一起丢弃），因此回退任意多步最多只需重放 checkpointInterval 步。
+ *
+ * 包装器自己记录光标位置与长度。moveToNth 与 find 直接委托给被包装的列表（保留它自己的语义和更快的查找），
+ * 之后用 getCursorPosition 取得光标停下的位置；moveToNth 记录的是元素实际移到的位置，
+ * 所以 undo/redo 用 "删除 + 插入" 重放时与被包装列表的 moveToNth 结果一致。
+ * 移动光标时按 hasFastGotoPrev 选择方向：gotoPrev 要从头查找前驱的列表（单向链表）不向后逐步移动，
+ * 而是回到开头再向前走，每一步 undo/redo 的光标移动都是 O(n) 而不是 O(n²)。
+ * openCursor 委托给被包装的列表：包括 undo/redo 在内的所有修改都经过被包装的列表，由它维护打开的游标。
+ * undo/redo 用删除 + 插入重放，游标始终有效，但停在被重放位置附近的游标不保证仍标记原来的元素；
+ * rewind 从检查点整体恢复内容时相当于先 clear，游标不再标记任何元素。
+ * 包装之后不应再直接修改被包装的列表。
+ */
+public class JournaledList implements CharList {
+    private static final int DEFAULT_JOURNAL_CAPACITY = 4096;
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 256;
+
+    // 记录的操作类型
+    private static final byte INSERT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte REPLACE = 3;
+    private static final byte MOVE = 4;
+    private static final byte CLEAR = 5;
+
+    // 检查点：某个状态下的完整内容与光标位置
+    private static class Checkpoint {
+        final char[] content;
+        final int cursor;
+
+        Checkpoint(char[] content, int cursor) {
+            this.content = content;
+            this.cursor = cursor;
+        }
+    }
+
+    private final CharList inner;
+    private int size;
+    private int cursor;     // 光标位置，空列表时为-1
+
+    // 环形缓冲区中的记录（平行数组，第 i 次操作存放在下标 i % 容量 处）
+    private final byte[] ops;
+    private final int[] before;     // 操作前的光标位置
+    private final int[] after;      // 操作后的光标位置（moveToNth 为目标位置）
+    private final char[] oldChars;  // 被删除/被替换的字符
+    private final char[] newChars;  // 插入/替换成的字符
+    private final char[][] cleared; // clear 之前的内容，其它操作为null
+
+    // 状态编号：第 i 次操作把状态 i 变为状态 i+1
+    private long head;      // 当前状态
+    private long oldest;    // 仍保留记录的最早状态（更早的记录已被覆盖）
+    private long newest;    // 可以 redo 到的最晚状态
+    private final int checkpointInterval;
+    private final TreeMap<Long, Checkpoint> checkpoints = new TreeMap<>();
+
+    public JournaledList(CharList inner) {
+        this(inner, DEFAULT_JOURNAL_CAPACITY, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param inner 被包装的列表（可以非空）
+     * @param journalCapacity 最多保留的记录条数，即最多可以 undo 的步数
+     * @param checkpointInterval 相邻检查点之间的操作次数
+     */
+    public JournaledList(CharList inner, int journalCapacity, int checkpointInterval) {
+        if (journalCapacity < 1) {
+            throw new IllegalArgumentException("journalCapacity 必须大于0");
+        }
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval 必须大于0");
+        }
+        this.inner = inner;
+        this.ops = new byte[journalCapacity];
+        this.before = new int[journalCapacity];
+        this.after = new int[journalCapacity];
+        this.oldChars = new char[journalCapacity];
+        this.newChars = new char[journalCapacity];
+        this.cleared = new char[journalCapacity][];
+        this.checkpointInterval = checkpointInterval;
+
+        // 数出已有的元素，光标停在开头
+        size = 0;
+        if (inner.gotoBeginning()) {
+            do {
+                size++;
+            } while (inner.gotoNext());
+            inner.gotoBeginning();
+        }
+        cursor = (size > 0) ? 0 : -1;
+        checkpoints.put(0L, new Checkpoint(contents(), cursor));
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        int from = cursor;
+        inner.insert(newElement); // 失败时抛出异常，不记录
+        size++;
+        cursor = from + 1;
+        record(INSERT, from, cursor, '\0', newElement, null);
+    }
+
+    @Override
+    public void remove() {
+        if (size == 0) {
+            return; // 空列表，什么都不做
+        }
+        int from = cursor;
+        char removed = inner.getCursor();
+        inner.remove();
+        size--;
+        cursor = (size == 0) ? -1 : (from >= size ? 0 : from);
+        record(REMOVE, from, cursor, removed, '\0', null);
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (size == 0 || newElement == null) {
+            return;
+        }
+        char old = inner.getCursor();
+        inner.replace(newElement);
+        record(REPLACE, cursor, cursor, old, newElement, null);
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            inner.clear();
+            return;
+        }
+        char[] content = contents();
+        int from = cursor;
+        inner.clear();
+        size = 0;
+        cursor = -1;
+        record(CLEAR, from, -1, '\0', '\0', content);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return inner.isFull();
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (size == 0) {
+            return false;
+        }
+        seek(0);
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (size == 0) {
+            return false;
+        }
+        seek(size - 1);
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (size == 0 || cursor >= size - 1) {
+            return false;
+        }
+        inner.gotoNext();
+        cursor++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (size == 0 || cursor <= 0) {
+            return false;
+        }
+        inner.gotoPrev();
+        cursor--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        return inner.getCursor();
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        inner.showStructure(pw);
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (size == 0) {
+            return;
+        }
+        int from = cursor;
+        inner.moveToNth(n);
+        cursor = inner.getCursorPosition();
+        if (cursor != from) {
+            // 光标停在被移动的元素上：等价于删除位置 from 的元素，再插入到位置 cursor
+            record(MOVE, from, cursor, '\0', '\0', null);
+        }
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (size == 0) {
+            return false;
+        }
+        boolean found = inner.find(searchElement);
+        cursor = inner.getCursorPosition();
+        return found;
+    }
+
+    @Override
+    public boolean hasFastGotoPrev() {
+        return inner.hasFastGotoPrev();
+    }
+
+    @Override
+    public ListCursor<Character> openCursor() {
+        return inner.openCursor();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return inner.spliterator();
+    }
+
+    // ---------------- undo / redo ----------------
+
+    public boolean canUndo() {
+        return head > oldest;
+    }
+
+    public boolean canRedo() {
+        return head < newest;
+    }
+
+    /**
+     * 撤销最近一次修改，内容与光标恢复到该次修改之前；没有可撤销的修改时返回 false
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+        head--;
+        int i = slot(head);
+        try {
+            switch (ops[i]) {
+                case INSERT -> {
+                    removeAt(after[i]);
+                    if (before[i] >= 0) {
+                        seek(before[i]);
+                    }
+                }
+                case REMOVE -> insertAt(before[i], oldChars[i]);
+                case REPLACE -> {
+                    seek(before[i]);
+                    inner.replace(oldChars[i]);
+                }
+                case MOVE -> moveElement(after[i], before[i]);
+                default -> restore(cleared[i], before[i]);
+            }
+        } catch (ListException e) {
+            throw new IllegalStateException(e); // 恢复的是曾经存在过的状态，不会超出容量
+        }
+        return true;
+    }
+
+    /**
+     * 重做最近一次被撤销的修改；没有可重做的修改时返回 false
+     */
+    public boolean redo() {
+        if (!canRedo()) {
+            return false;
+        }
+        int i = slot(head);
+        head++;
+        try {
+            switch (ops[i]) {
+                case INSERT -> {
+                    if (before[i] >= 0) {
+                        seek(before[i]);
+                    }
+                    inner.insert(newChars[i]);
+                    size++;
+                    cursor = after[i];
+                }
+                case REMOVE -> {
+                    removeAt(before[i]);
+                    if (after[i] >= 0) {
+                        seek(after[i]);
+                    }
+                }
+                case REPLACE -> {
+                    seek(before[i]);
+                    inner.replace(newChars[i]);
+                }
+                case MOVE -> moveElement(before[i], after[i]);
+                default -> {
+                    inner.clear();
+                    size = 0;
+                    cursor = -1;
+                }
+            }
+        } catch (ListException e) {
+            throw new IllegalStateException(e);
+        }
+        return true;
+    }
+
+    /**
+     * 一次撤销 steps 次修改（超过可撤销的次数时撤销全部），返回实际撤销的次数。
+     * steps 超过检查点间隔时先恢复离目标状态最近的检查点，再重做或撤销到目标，最多重放 checkpointInterval 步。
+     */
+    public int rewind(int steps) {
+        int count = (int) Math.min(Math.max(steps, 0), head - oldest);
+        long target = head - count;
+        if (count > checkpointInterval) {
+            // 取离目标最近的检查点：目标之前的向前 redo，目标之后的向后 undo。
+            // (target, target + checkpointInterval] 内总有一个不晚于 head、未被丢弃的检查点，
+            // 所以即使目标之前的检查点已随最早的记录一起丢弃，重放也不超过 checkpointInterval 步
+            Map.Entry<Long, Checkpoint> checkpoint = checkpoints.ceilingEntry(target);
+            Map.Entry<Long, Checkpoint> earlier = checkpoints.floorEntry(target);
+            if (earlier != null && earlier.getKey() >= oldest
+                    && target - earlier.getKey() <= checkpoint.getKey() - target) {
+                checkpoint = earlier;
+            }
+            try {
+                restore(checkpoint.getValue().content, checkpoint.getValue().cursor);
+            } catch (ListException e) {
+                throw new IllegalStateException(e);
+            }
+            head = checkpoint.getKey();
+            while (head < target) {
+                redo();
+            }
+            while (head > target) {
+                undo();
+            }
+            // 与逐步 undo 的结果一致：光标停在第 target 次修改之前的位置
+            if (size > 0) {
+                seek(before[slot(target)]);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                undo();
+            }
+        }
+        return count;
+    }
+
+    // ---------------- 辅助方法 ----------------
+
+    // 辅助方法：追加一条记录；会丢弃所有可以 redo 的记录，必要时覆盖最早的记录并保存检查点
+    private void record(byte op, int from, int to, char oldChar, char newChar, char[] content) {
+        if (newest > head) {
+            checkpoints.tailMap(head, false).clear();
+        }
+        int i = slot(head);
+        ops[i] = op;
+        before[i] = from;
+        after[i] = to;
+        oldChars[i] = oldChar;
+        newChars[i] = newChar;
+        cleared[i] = content;
+        head++;
+        newest = head;
+        if (head - oldest > ops.length) {
+            oldest = head - ops.length;
+            checkpoints.headMap(oldest).clear();
+        }
+        if (head % checkpointInterval == 0) {
+            checkpoints.put(head, new Checkpoint(contents(), cursor));
+        }
+    }
+
+    private int slot(long state) {
+        return (int) (state % ops.length);
+    }
+
+    // 辅助方法：把位置 from 的元素删除后再插入到位置 to，光标停在 to
+    private void moveElement(int from, int to) throws ListException {
+        seek(from);
+        char element = inner.getCursor();
+        removeAt(from);
+        insertAt(to, element);
+    }
+
+    // 辅助方法：删除位置 index 的元素，光标按 remove 的语义调整
+    private void removeAt(int index) {
+        seek(index);
+        inner.remove();
+        size--;
+        cursor = (size == 0) ? -1 : (index >= size ? 0 : index);
+    }
+
+    // 辅助方法：在位置 index（可以等于长度）插入 c，光标移到新元素
+    private void insertAt(int index, char c) throws ListException {
+        if (index == 0 && size > 0) {
+            // insert 只能插在光标之后：先把 c 写进第一个位置，再把原来的第一个元素插到它后面
+            seek(0);
+            char first = inner.getCursor();
+            inner.replace(c);
+            inner.insert(first);
+            size++;
+            cursor = 1;
+            seek(0);
+        } else {
+            if (size > 0) {
+                seek(index - 1);
+            }
+            inner.insert(c);
+            size++;
+            cursor = index;
+        }
+    }
+
+    // 辅助方法：把内容整体换成 content，光标移到 position
+    private void restore(char[] content, int position) throws ListException {
+        inner.clear();
+        size = 0;
+        cursor = -1;
+        if (content.length > 0) {
+            inner.insertAll(CharBuffer.wrap(content));
+            size = content.length;
+            cursor = size - 1;
+            seek(position);
+        }
+    }
+
+    // 辅助方法：读出全部内容（光标回到原处）
+    private char[] contents() {
+        char[] content = new char[size];
+        if (size > 0) {
+            int position = cursor;
+            seek(0);
+            for (int i = 0; i < size; i++) {
+                content[i] = inner.getCursor();
+                if (i < size - 1) {
+                    inner.gotoNext();
+                    cursor++;
+                }
+            }
+            seek(position);
+        }
+        return content;
+    }
+
+    // 辅助方法：把光标移到位置 index（从当前位置、开头、末尾中最近的一处出发；
+    // gotoPrev 很慢时不向后移动：目标在光标之前就回到开头，只有目标是最后一个元素时才从末尾出发）
+    private void seek(int index) {
+        if (!inner.hasFastGotoPrev()) {
+            if (index == size - 1) {
+                inner.gotoEnd();
+                cursor = size - 1;
+            } else if (index < cursor) {
+                inner.gotoBeginning();
+                cursor = 0;
+            }
+        } else {
+            int distance = Math.abs(index - cursor);
+            if (index < distance) {
+                inner.gotoBeginning();
+                cursor = 0;
+            } else if (size - 1 - index < distance) {
+                inner.gotoEnd();
+                cursor = size - 1;
+            }
+        }
+        while (cursor < index) {
+            inner.gotoNext();
+            cursor++;
+        }
+        while (cursor > index) {
+            inner.gotoPrev();
+            cursor--;
+        }
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursor;
+    }
+}
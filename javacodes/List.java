@@ -110,4 +110,92 @@ public interface List<T> {
 	 * Postcondition:
 	 * Searches a list for searchElement. Begins the search with the element marked by the cursor. Moves the cursor through the list until either searchElement is found (returns true) or the end of the list is reached without finding searchElement (returns false). Leaves the cursor at the last element visited during the search.
 	 */
+
+	default ListCursor<T> openCursor() {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support openCursor");
+	}
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Returns a new, independent cursor (see ListCursor) that initially marks the same element as the
+	 * list's cursor. Later edits made through the list keep every open cursor valid.
+	 * Implementations that cannot maintain extra cursors throw UnsupportedOperationException.
+	 */
+
+	// ---------------- 光标位置 ----------------
+	// 供包装器（JournaledList 等）在委托 find/moveToNth 之后得知光标停在哪里，以及选择移动光标的方向。
+
+	default int getCursorPosition() {
+		if (isEmpty()) {
+			return -1;
+		}
+		// 默认实现只能借助光标：退回开头数出步数，再走回原处
+		int position = 0;
+		while (gotoPrev()) {
+			position++;
+		}
+		for (int i = 0; i < position; i++) {
+			gotoNext();
+		}
+		return position;
+	}
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Returns the position of the element marked by the cursor, numbered from beginning to end starting with zero,
+	 * or -1 if the list is empty. The cursor is left where it was.
+	 */
+
+	default boolean hasFastGotoPrev() {
+		return true;
+	}
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Returns false if gotoPrev has to search from the beginning of the list (a singly linked list), so that a
+	 * caller walking backward over many elements should rather call gotoBeginning and walk forward.
+	 * Returns true if gotoPrev takes constant (or amortized constant) time.
+	 */
+
+	// ---------------- 批量操作 ----------------
+	// 以下默认实现逐个调用单元素操作；具体实现可以覆盖为一次移动/一次拼接的版本。
+	// 以字符序列为参数的批量操作、多字符查找与遍历见 CharList。
+
+	default void removeRange(int count) {
+		for (int i = 0; i < count && !isEmpty(); i++) {
+			remove();
+		}
+	}
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Equivalent to calling remove() count times: removes the element marked by the cursor and the
+	 * elements that follow it. If the end of the list is reached, the cursor wraps to the beginning
+	 * and removal continues from there. If count >= the length of the list, the list becomes empty.
+	 */
+
+	default void appendFrom(List<? extends T> other) throws ListException {
+		if (other.isEmpty()) {
+			return;
+		}
+		gotoEnd();
+		other.gotoBeginning();
+		do {
+			insert(other.getCursor());
+		} while (other.gotoNext());
+	}
+	/*
+	 * Precondition:
+	 * other is not this list, and this list has room for all elements of other.
+	 * PostCondition:
+	 * Appends copies of all elements of other, in order, to the end of this list, and moves the cursor
+	 * to the last appended element. If other is empty, nothing changes.
+	 * The default implementation walks other with its cursor, leaving other's cursor at its last element;
+	 * the optimized implementations leave other untouched.
+	 * If there is not enough space in the list, throw a ListException exception.
+	 */
 }
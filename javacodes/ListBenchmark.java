@@ -0,0 +1,1169 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * List ADT 各实现的性能对比（简单的手写基准测试，非 JMH）
+ * 用法：java ListBenchmark [套件名]，不带参数时运行全部套件
+ * - crossover：不同规模下 moveToNth + 光标处插入/删除 的单次操作耗时，观察各实现的交叉点
+ * - trace：随机生成的长命令序列（与 list_testcase.txt 同样的命令集合，外加 find 和 moveToNth）的平均单次耗时
+ * - find：不同长度、不同命中位置下 find 的耗时，对比装箱数组、char[] 存储的实现以及 CharScan 的标量/向量扫描
+ *   （向量扫描需要单独编译 vector/CharScanVector.java 并以 --add-modules jdk.incubator.vector 运行，见 CharScan）
+ * - index：读多写少的命令序列下，顺序数组/单向链表/双向链表关闭与打开字符索引（setIndexed）的对比
+ * - concurrent：多个读线程同时 find/getCursor 时的总吞吐量，对比全局 synchronized 的顺序数组与 ConcurrentListImpl
+ * - snapshot：取一份时间点副本的耗时，对比整体复制顺序数组/双向链表与 PersistentListImpl.snapshot()
+ * - mapped：在 MappedListImpl 中写入数千万个字符，统计耗时与期间的 GC 次数，再关闭、重新打开并查找
+ * - journal：JournaledList 记录日志的额外开销，不同检查点间隔下 rewind 不同步数的耗时，
+ *   以及包装不同实现时远离光标处的一次 undo + redo 的耗时（单向链表的 gotoPrev 要从头查找前驱）
+ * - cursors：每个读者各自复制一份列表再查找，与在同一个列表上 openCursor 查找的对比
+ * - stream：统计某个字符的出现次数，对比用光标逐个遍历、chars() 顺序流与 chars().parallel() 并行流
+ * - adaptive：操作组合分阶段变化的负载下，三种固定表示与 AdaptiveListImpl 在每个阶段的耗时，以及发生的迁移
+ * - sequence：查找多字符序列，对比 "find 首字符 + 逐个 gotoNext 核对" 的手写做法与 findSequence（KMP）
+ * - reload：数百万个元素的列表/队列用 save 写入文件、再用 load 读回的耗时，对比逐个 insert/enqueue 重放
+ * - pool：反复 "填充 + 编辑 + clear" 的负载下，链表关闭与打开节点复用（setPooled）时的耗时、每次操作分配的字节数与 GC 次数
+ */
+public class ListBenchmark {
+
+    // 参与对比的实现：名字 -> 按容量构造实例。MappedListImpl 以临时文件为存储，需要关闭，不放在这里，
+    // 由 crossover/trace 单独创建并在测量后关闭（最后一列）
+    private static final Map<String, IntFunction<List<Character>>> IMPLS = new LinkedHashMap<>();
+    static {
+        IMPLS.put("顺序数组", ArrayListImpl::new);
+        IMPLS.put("单向链表", SinglyLinkedListImpl::new);
+        IMPLS.put("单向链表(可逆)", capacity -> new SinglyLinkedListImpl(capacity, true));
+        IMPLS.put("双向链表", DoublyLinkedListImpl::new);
+        IMPLS.put("Treap", TreapListImpl::new);
+        IMPLS.put("持久化Treap", PersistentListImpl::new);
+        IMPLS.put("Rope", RopeListImpl::new);
+        IMPLS.put("展开链表", UnrolledLinkedListImpl::new);
+        IMPLS.put("自适应", AdaptiveListImpl::new);
+    }
+
+    private static final int[] SIZES = {256, 1024, 4096, 16384, 65536};
+
+    // trace 套件：命令序列的长度，以及列表长度的大致上限（超过后插入概率降低）
+    private static final int TRACE_LENGTH = 400_000;
+    private static final int[] TRACE_TARGET_SIZES = {1000, 10000};
+
+    // find 套件：列表长度，以及目标字符所在的位置（占长度的比例，-1 表示列表中没有目标字符）
+    private static final int[] FIND_SIZES = {64, 1024, 16384, 262144};
+    private static final double[] FIND_HIT_POSITIONS = {0.1, 0.5, 1.0, -1};
+
+    // index 套件：列表长度、命令条数，以及 find 在命令中所占的百分比
+    private static final int[] INDEX_SIZES = {1000, 10000, 100000};
+    private static final int INDEX_OPS = 200_000;
+    private static final int INDEX_FIND_SHARE = 99;
+
+    // concurrent 套件：列表长度、每个配置的运行时间（毫秒），以及写线程两次修改之间的间隔（微秒）
+    private static final int CONCURRENT_SIZE = 4096;
+    private static final int CONCURRENT_MILLIS = 500;
+    private static final int WRITER_PAUSE_MICROS = 100;
+
+    // snapshot 套件：列表长度，以及每个长度下 "取快照 + 修改一次" 的轮数
+    private static final int[] SNAPSHOT_SIZES = {1000, 10000, 100000};
+    private static final int SNAPSHOT_ROUNDS = 2000;
+
+    // mapped 套件：写入的字符数
+    private static final int MAPPED_SIZE = 20_000_000;
+
+    // journal 套件：列表长度、修改次数（也是日志容量），以及参与对比的检查点间隔和回退步数
+    private static final int JOURNAL_SIZE = 10000;
+    private static final int JOURNAL_OPS = 1 << 16;
+    private static final int[] JOURNAL_INTERVALS = {64, 1024, JOURNAL_OPS};
+    private static final int[] JOURNAL_REWINDS = {16, 256, 4096, JOURNAL_OPS / 2};
+    private static final int JOURNAL_SEEK_SIZE = 40000;
+    private static final int JOURNAL_SEEK_ROUNDS = 20;
+
+    // cursors 套件：列表长度，以及每个长度下的读者数
+    private static final int[] CURSOR_SIZES = {1000, 10000, 100000};
+    private static final int CURSOR_READERS = 2000;
+
+    // stream 套件：列表长度
+    private static final int STREAM_SIZE = 1_000_000;
+
+    // adaptive 套件：列表长度，以及每个阶段的操作轮数
+    private static final int ADAPTIVE_SIZE = 50_000;
+    private static final int ADAPTIVE_ROUNDS = 20_000;
+
+    // sequence 套件：列表长度与查找次数
+    private static final int SEQUENCE_SIZE = 100_000;
+    private static final int SEQUENCE_ROUNDS = 20;
+
+    // reload 套件：元素个数
+    private static final int RELOAD_SIZE = 5_000_000;
+
+    // pool 套件：每轮填充的长度、预热轮数与测量轮数
+    private static final int POOL_SIZE = 2000;
+    private static final int POOL_WARMUP_CYCLES = 2000;
+    private static final int POOL_CYCLES = 5000;
+
+    public static void main(String[] args) throws ListException {
+        String suite = (args.length > 0) ? args[0] : "all";
+        if (suite.equals("all") || suite.equals("crossover")) {
+            crossover();
+        }
+        if (suite.equals("all") || suite.equals("trace")) {
+            trace();
+        }
+        if (suite.equals("all") || suite.equals("find")) {
+            find();
+        }
+        if (suite.equals("all") || suite.equals("index")) {
+            index();
+        }
+        if (suite.equals("all") || suite.equals("concurrent")) {
+            concurrent();
+        }
+        if (suite.equals("all") || suite.equals("snapshot")) {
+            snapshot();
+        }
+        if (suite.equals("all") || suite.equals("mapped")) {
+            mapped();
+        }
+        if (suite.equals("all") || suite.equals("journal")) {
+            journal();
+        }
+        if (suite.equals("all") || suite.equals("cursors")) {
+            cursors();
+        }
+        if (suite.equals("all") || suite.equals("stream")) {
+            stream();
+        }
+        if (suite.equals("all") || suite.equals("adaptive")) {
+            adaptive();
+        }
+        if (suite.equals("all") || suite.equals("sequence")) {
+            sequence();
+        }
+        if (suite.equals("all") || suite.equals("reload")) {
+            reload();
+        }
+        if (suite.equals("all") || suite.equals("pool")) {
+            pool();
+        }
+    }
+
+    /**
+     * 对每个规模 n：先插入 n 个元素，然后重复执行 "moveToNth(随机位置) + insert + remove"，
+     * 输出每轮的平均耗时（纳秒）。线性实现随 n 增长，Treap 只随 log n 增长。
+     */
+    private static void crossover() throws ListException {
+        System.out.println("=== crossover: moveToNth + insert + remove (ns/轮) ===");
+        printHeader();
+        for (int n : SIZES) {
+            StringBuilder row = new StringBuilder(String.format("%-8d", n));
+            for (IntFunction<List<Character>> factory : IMPLS.values()) {
+                row.append(String.format("%14.1f", timeCrossover(filledList(factory, n), n)));
+            }
+            try (MappedListImpl list = filledList(MappedListImpl::new, n)) {
+                row.append(String.format("%14.1f", timeCrossover(list, n)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static double timeCrossover(List<Character> list, int n) throws ListException {
+        int rounds = Math.max(200, 2_000_000 / n);
+        Random random = new Random(n);
+        runCrossoverRounds(list, random, rounds / 4, n); // 预热
+        long start = System.nanoTime();
+        runCrossoverRounds(list, random, rounds, n);
+        return (double) (System.nanoTime() - start) / rounds;
+    }
+
+    private static void runCrossoverRounds(List<Character> list, Random random, int rounds, int n) throws ListException {
+        for (int i = 0; i < rounds; i++) {
+            list.moveToNth(random.nextInt(n));
+            list.insert('x');
+            list.remove();
+        }
+    }
+
+    /**
+     * 用同一条随机命令序列驱动每个实现，输出平均每条命令的耗时（纳秒）。
+     * 命令以 list_testcase.txt 的符号表示，另外用 '?' 表示 find、'@' 表示 moveToNth。
+     */
+    private static void trace() throws ListException {
+        System.out.println("=== trace: 随机命令序列 (ns/命令) ===");
+        printHeader();
+        for (int target : TRACE_TARGET_SIZES) {
+            char[] ops = new char[TRACE_LENGTH];
+            char[] args = new char[TRACE_LENGTH];
+            int[] positions = new int[TRACE_LENGTH];
+            generateTrace(new Random(target), target, ops, args, positions);
+
+            StringBuilder row = new StringBuilder(String.format("~%-7d", target));
+            for (IntFunction<List<Character>> factory : IMPLS.values()) {
+                runTrace(factory.apply(target * 4), ops, args, positions); // 预热
+                row.append(String.format("%14.1f", timeTrace(factory.apply(target * 4), ops, args, positions)));
+            }
+            try (MappedListImpl warmup = new MappedListImpl(target * 4);
+                 MappedListImpl list = new MappedListImpl(target * 4)) {
+                runTrace(warmup, ops, args, positions);
+                row.append(String.format("%14.1f", timeTrace(list, ops, args, positions)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println(row);
+        }
+    }
+
+    // 生成命令序列：列表越接近 target，插入的比例越低；moveToNth 的目标位置按当时的长度预先取好
+    private static void generateTrace(Random random, int target, char[] ops, char[] args, int[] positions) {
+        int size = 0;
+        for (int i = 0; i < ops.length; i++) {
+            int r = random.nextInt(100);
+            int insertShare = (size < target) ? 40 : 20;
+            char op;
+            if (r < insertShare) {
+                op = '+';
+                size++;
+            } else if (r < 50) {
+                op = '-';
+                size = Math.max(0, size - 1);
+            } else if (r < 60) {
+                op = '=';
+            } else if (r < 75) {
+                op = '>';
+            } else if (r < 90) {
+                op = '<';
+            } else if (r < 93) {
+                op = (random.nextBoolean()) ? '#' : '*';
+            } else if (r < 98) {
+                op = '?';
+            } else {
+                op = '@';
+            }
+            ops[i] = op;
+            args[i] = (char) ('a' + random.nextInt(26));
+            positions[i] = (size > 0) ? random.nextInt(size) : 0;
+        }
+    }
+
+    private static double timeTrace(List<Character> list, char[] ops, char[] args, int[] positions) throws ListException {
+        long start = System.nanoTime();
+        runTrace(list, ops, args, positions);
+        return (double) (System.nanoTime() - start) / TRACE_LENGTH;
+    }
+
+    private static void runTrace(List<Character> list, char[] ops, char[] args, int[] positions) throws ListException {
+        for (int i = 0; i < ops.length; i++) {
+            switch (ops[i]) {
+                case '+' -> list.insert(args[i]);
+                case '-' -> list.remove();
+                case '=' -> list.replace(args[i]);
+                case '>' -> list.gotoNext();
+                case '<' -> list.gotoPrev();
+                case '#' -> list.gotoBeginning();
+                case '*' -> list.gotoEnd();
+                case '?' -> list.find(args[i]);
+                default -> list.moveToNth(positions[i]);
+            }
+        }
+    }
+
+    /**
+     * 每次从开头调用一次 find，输出平均每次 find 的耗时（纳秒），最后一列是 CharArrayListImpl 相对装箱数组的加速比。
+     * 列表内容是循环的 'a'..'y'，目标字符 'z' 只出现在指定位置上。
+     */
+    private static void find() throws ListException {
+        CharScan.Scanner vector = CharScan.vectorScanner();
+        System.out.println("=== find: 从开头查找 (ns/次)，CharScan 当前使用 " + CharScan.implementationName() + " ===");
+        System.out.println(String.format("%-8s%8s%14s%14s%14s%14s%14s%10s",
+                "n", "命中", "顺序数组", "字符数组", "间隙缓冲", "标量扫描", "向量扫描", "加速比"));
+        for (int n : FIND_SIZES) {
+            for (double hit : FIND_HIT_POSITIONS) {
+                int hitIndex = (hit < 0) ? -1 : (int) Math.min(n - 1, n * hit);
+                char[] chars = new char[n];
+                for (int i = 0; i < n; i++) {
+                    chars[i] = (i == hitIndex) ? 'z' : (char) ('a' + i % 25);
+                }
+                ArrayListImpl boxed = new ArrayListImpl(n);
+                CharArrayListImpl primitive = new CharArrayListImpl(n);
+                GapBufferListImpl gapBuffer = new GapBufferListImpl(n);
+                for (char c : chars) {
+                    boxed.insert(c);
+                    primitive.insert(c);
+                    gapBuffer.insert(c);
+                }
+
+                int rounds = Math.max(2000, 200_000_000 / n);
+                double boxedTime = timeFind(boxed, rounds);
+                double primitiveTime = timeFind(primitive, rounds);
+                double gapBufferTime = timeFind(gapBuffer, rounds);
+                double scalarTime = timeScan(CharScan.scalarScanner(), chars, rounds);
+                String vectorColumn = (vector == null) ? "-" : String.format("%.1f", timeScan(vector, chars, rounds));
+                System.out.println(String.format("%-8d%8s%14.1f%14.1f%14.1f%14.1f%14s%10.1f",
+                        n, (hit < 0) ? "无" : String.format("%.0f%%", hit * 100),
+                        boxedTime, primitiveTime, gapBufferTime, scalarTime, vectorColumn, boxedTime / primitiveTime));
+            }
+        }
+    }
+
+    private static double timeFind(List<Character> list, int rounds) {
+        runFindRounds(list, rounds); // 预热
+        long start = System.nanoTime();
+        runFindRounds(list, rounds);
+        return (double) (System.nanoTime() - start) / rounds;
+    }
+
+    private static void runFindRounds(List<Character> list, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            list.gotoBeginning();
+            list.find('z');
+        }
+    }
+
+    private static double timeScan(CharScan.Scanner scanner, char[] chars, int rounds) {
+        int sink = runScanRounds(scanner, chars, rounds); // 预热
+        long start = System.nanoTime();
+        sink += runScanRounds(scanner, chars, rounds);
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print(""); // 使用结果，防止扫描被优化掉
+        }
+        return (double) elapsed / rounds;
+    }
+
+    private static int runScanRounds(CharScan.Scanner scanner, char[] chars, int rounds) {
+        int sink = 0;
+        for (int i = 0; i < rounds; i++) {
+            sink += scanner.indexOf(chars, 0, chars.length, 'z');
+        }
+        return sink;
+    }
+
+    /**
+     * 列表内容取自 n/8 个不同的字符，命令中 INDEX_FIND_SHARE% 是 "回到开头 + find(随机字符)"，
+     * 其余是 "moveToNth(随机位置) + insert + remove"。输出平均每条命令的耗时（纳秒）。
+     */
+    private static void index() throws ListException {
+        System.out.println("=== index: " + INDEX_FIND_SHARE + "% find 的命令序列 (ns/命令) ===");
+        System.out.println(String.format("%-8s%14s%14s%14s%14s%14s%14s",
+                "n", "顺序数组", "顺序数组+索引", "单向链表", "单向链表+索引", "双向链表", "双向链表+索引"));
+        for (int n : INDEX_SIZES) {
+            int alphabet = Math.max(1, n / 8);
+            Random random = new Random(n);
+            char[] contents = new char[n];
+            for (int i = 0; i < n; i++) {
+                contents[i] = (char) ('一' + random.nextInt(alphabet));
+            }
+            char[] targets = new char[INDEX_OPS];
+            int[] positions = new int[INDEX_OPS];
+            for (int i = 0; i < INDEX_OPS; i++) {
+                targets[i] = (random.nextInt(100) < INDEX_FIND_SHARE) ? (char) ('一' + random.nextInt(alphabet)) : 0;
+                positions[i] = random.nextInt(n);
+            }
+
+            StringBuilder row = new StringBuilder(String.format("%-8d", n));
+            for (int impl = 0; impl < 3; impl++) {
+                for (boolean indexed : new boolean[] {false, true}) {
+                    List<Character> list = (impl == 0) ? new ArrayListImpl(n + 16)
+                            : (impl == 1) ? new SinglyLinkedListImpl(n + 16) : new DoublyLinkedListImpl(n + 16);
+                    for (char c : contents) {
+                        list.insert(c);
+                    }
+                    if (impl == 0) {
+                        ((ArrayListImpl) list).setIndexed(indexed);
+                    } else if (impl == 1) {
+                        ((SinglyLinkedListImpl) list).setIndexed(indexed);
+                    } else {
+                        ((DoublyLinkedListImpl) list).setIndexed(indexed);
+                    }
+                    // 链表的 moveToNth 与 find 未命中都是线性的，命令数随规模减少，避免运行时间过长
+                    int ops = (int) Math.min(INDEX_OPS, 2_000_000_000L / ((long) n * 8));
+                    runIndexOps(list, targets, positions, ops / 4); // 预热
+                    long start = System.nanoTime();
+                    runIndexOps(list, targets, positions, ops);
+                    long elapsed = System.nanoTime() - start;
+                    row.append(String.format("%14.1f", (double) elapsed / ops));
+                }
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static void runIndexOps(List<Character> list, char[] targets, int[] positions, int ops) throws ListException {
+        for (int i = 0; i < ops; i++) {
+            if (targets[i] != 0) {
+                list.gotoBeginning();
+                list.find(targets[i]);
+            } else {
+                list.moveToNth(positions[i]);
+                list.insert('x');
+                list.remove();
+            }
+        }
+    }
+
+    /**
+     * 1, 2, 4, ... 个读线程同时执行 "回到开头 + find(随机字符) + getCursor"，输出所有线程合计每毫秒完成的轮数。
+     * "synchronized" 列对整个 ArrayListImpl 加全局锁（读线程共用一个光标）；
+     * "+写线程" 列另有一个线程每隔 WRITER_PAUSE_MICROS 微秒 insert + remove 一次。
+     */
+    private static void concurrent() throws ListException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== concurrent: 读线程吞吐量 (轮/毫秒)，CPU 核数 " + cores + " ===");
+        System.out.println(String.format("%-8s%16s%16s%16s", "读线程", "synchronized", "并发列表", "并发列表+写线程"));
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            ArrayListImpl array = new ArrayListImpl(CONCURRENT_SIZE + 16);
+            ConcurrentListImpl shared = new ConcurrentListImpl(CONCURRENT_SIZE + 16);
+            for (int i = 0; i < CONCURRENT_SIZE; i++) {
+                char c = (char) ('a' + i % 26);
+                array.insert(c);
+                shared.insert(c);
+            }
+            List<Character> locked = synchronizedReads(array);
+            System.out.println(String.format("%-8d%16.1f%16.1f%16.1f", threads,
+                    readThroughput(locked, threads, false),
+                    readThroughput(shared, threads, false),
+                    readThroughput(shared, threads, true)));
+        }
+    }
+
+    /**
+     * 每轮先取一份副本，再在原列表上 replace + gotoNext 一次，输出每轮的平均耗时（纳秒）。
+     * 顺序数组与双向链表的副本用 appendFrom 整体复制得到，持久化Treap 的副本是 snapshot()。
+     */
+    private static void snapshot() throws ListException {
+        System.out.println("=== snapshot: 取副本 + 修改一次 (ns/轮) ===");
+        System.out.println(String.format("%-8s%14s%14s%14s", "n", "顺序数组", "双向链表", "持久化Treap"));
+        for (int n : SNAPSHOT_SIZES) {
+            StringBuilder row = new StringBuilder(String.format("%-8d", n));
+            row.append(String.format("%14.1f", timeSnapshots(filledList(ArrayListImpl::new, n), n,
+                    list -> copyOf(new ArrayListImpl(n + 16), list))));
+            row.append(String.format("%14.1f", timeSnapshots(filledList(DoublyLinkedListImpl::new, n), n,
+                    list -> copyOf(new DoublyLinkedListImpl(n + 16), list))));
+            row.append(String.format("%14.1f", timeSnapshots(filledList(PersistentListImpl::new, n), n,
+                    list -> ((PersistentListImpl) list).snapshot())));
+            System.out.println(row);
+        }
+    }
+
+    // 取副本的方式
+    private interface Snapshotter {
+        List<Character> take(List<Character> list) throws ListException;
+    }
+
+    private static double timeSnapshots(List<Character> list, int n, Snapshotter snapshotter) throws ListException {
+        int rounds = (int) Math.max(20, (long) SNAPSHOT_ROUNDS * 1000 / n);
+        List<Character> last = null;
+        long start = 0;
+        for (int pass = 0; pass < 2; pass++) { // 第一遍为预热
+            start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                last = snapshotter.take(list);
+                list.replace((char) ('a' + i % 26));
+                if (!list.gotoNext()) {
+                    list.gotoBeginning();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (last.isEmpty()) {
+            System.out.print(""); // 使用结果，防止复制被优化掉
+        }
+        return (double) elapsed / rounds;
+    }
+
+    private static List<Character> copyOf(List<Character> target, List<Character> source) throws ListException {
+        target.appendFrom(source);
+        return target;
+    }
+
+    /**
+     * 以 insertAll 分块写入 MAPPED_SIZE 个字符并在中间做一些光标处编辑，输出耗时与 GC 次数；
+     * 然后关闭文件、重新打开（只读头部），查找位于末尾的字符。
+     */
+    private static void mapped() throws ListException {
+        System.out.println("=== mapped: 内存映射文件中的 " + MAPPED_SIZE + " 个字符 ===");
+        try {
+            Path path = Files.createTempFile("mapped-benchmark", ".dat");
+            path.toFile().deleteOnExit();
+
+            long gcBefore = gcCount();
+            long start = System.nanoTime();
+            try (MappedListImpl list = MappedListImpl.create(path, MAPPED_SIZE + 16)) {
+                StringBuilder chunk = new StringBuilder();
+                for (int i = 0; i < 4096; i++) {
+                    chunk.append((char) ('a' + i % 25));
+                }
+                while (list.getSize() + chunk.length() <= MAPPED_SIZE) {
+                    list.insertAll(chunk);
+                }
+                Random random = new Random(1);
+                for (int i = 0; i < 1000; i++) {
+                    list.moveToNth(random.nextInt(list.getSize()));
+                    list.insert('x');
+                    list.remove();
+                }
+                list.gotoEnd();
+                list.insert('z');
+            }
+            System.out.println(String.format("写入并关闭: %.1f ms，期间 GC %d 次",
+                    (System.nanoTime() - start) / 1e6, gcCount() - gcBefore));
+
+            start = System.nanoTime();
+            try (MappedListImpl list = MappedListImpl.open(path)) {
+                double openMillis = (System.nanoTime() - start) / 1e6;
+                list.gotoBeginning();
+                long findStart = System.nanoTime();
+                boolean found = list.find('z');
+                System.out.println(String.format("重新打开: %.3f ms，长度 %d；从开头查找末尾的字符: %.1f ms (%s)",
+                        openMillis, list.getSize(), (System.nanoTime() - findStart) / 1e6, found ? "找到" : "未找到"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 在 JOURNAL_SIZE 个元素的顺序数组上执行 JOURNAL_OPS 次随机修改，对比直接修改与经过 JournaledList 的耗时；
+     * 然后对每个检查点间隔输出 rewind 不同步数的耗时（微秒），每次测量后 redo 回到原来的状态。
+     * 检查点间隔等于日志容量时相当于没有检查点，rewind 只能逐步 undo。
+     * 最后分别包装顺序数组、双向链表与单向链表，输出光标在末尾时撤销/重做 3/4 处一次修改的耗时。
+     */
+    private static void journal() throws ListException {
+        System.out.println("=== journal: " + JOURNAL_SIZE + " 个元素，" + JOURNAL_OPS + " 次修改 ===");
+        List<Character> plain = filledList(capacity -> new ArrayListImpl(2 * capacity), JOURNAL_SIZE);
+        long start = System.nanoTime();
+        runJournalEdits(plain, new Random(1));
+        System.out.println(String.format("直接修改: %.1f ns/次", (double) (System.nanoTime() - start) / JOURNAL_OPS));
+
+        StringBuilder header = new StringBuilder(String.format("%-10s%14s", "间隔", "修改 ns/次"));
+        for (int steps : JOURNAL_REWINDS) {
+            header.append(String.format("%14s", "rewind " + steps));
+        }
+        System.out.println(header + "  (rewind 单位: 微秒)");
+        for (int interval : JOURNAL_INTERVALS) {
+            JournaledList list = new JournaledList(filledList(capacity -> new ArrayListImpl(2 * capacity), JOURNAL_SIZE), JOURNAL_OPS, interval);
+            start = System.nanoTime();
+            runJournalEdits(list, new Random(1));
+            double editNanos = (double) (System.nanoTime() - start) / JOURNAL_OPS;
+
+            StringBuilder row = new StringBuilder(String.format("%-10d%14.1f", interval, editNanos));
+            for (int steps : JOURNAL_REWINDS) {
+                list.rewind(steps); // 预热
+                while (list.redo()) {
+                    // 回到最新状态
+                }
+                start = System.nanoTime();
+                list.rewind(steps);
+                row.append(String.format("%14.1f", (System.nanoTime() - start) / 1e3));
+                while (list.redo()) {
+                    // 回到最新状态
+                }
+            }
+            System.out.println(row);
+        }
+
+        // 在 3/4 处修改一次，之后每轮 gotoEnd + undo + redo：undo/redo 都要把光标从末尾移回修改位置
+        System.out.println("-- " + JOURNAL_SEEK_SIZE + " 个元素，修改位置在 3/4 处，gotoEnd + undo + redo (微秒/轮)");
+        Map<String, IntFunction<CharList>> wrapped = new LinkedHashMap<>();
+        wrapped.put("顺序数组", ArrayListImpl::new);
+        wrapped.put("双向链表", DoublyLinkedListImpl::new);
+        wrapped.put("单向链表", SinglyLinkedListImpl::new);
+        wrapped.put("单向链表(可逆)", capacity -> new SinglyLinkedListImpl(capacity, true));
+        for (Map.Entry<String, IntFunction<CharList>> entry : wrapped.entrySet()) {
+            JournaledList list = new JournaledList(filledList(entry.getValue(), JOURNAL_SEEK_SIZE));
+            list.gotoBeginning();
+            for (int i = 0; i < JOURNAL_SEEK_SIZE * 3 / 4; i++) {
+                list.gotoNext();
+            }
+            list.insert('x');
+            list.gotoEnd();
+            list.undo(); // 预热
+            list.redo();
+            start = System.nanoTime();
+            for (int i = 0; i < JOURNAL_SEEK_ROUNDS; i++) {
+                list.gotoEnd();
+                list.undo();
+                list.redo();
+            }
+            System.out.println(String.format("%-16s%12.1f", entry.getKey(),
+                    (System.nanoTime() - start) / 1e3 / JOURNAL_SEEK_ROUNDS));
+        }
+    }
+
+    // 随机的光标处修改：插入与删除大致平衡，列表长度保持在初始值附近
+    private static void runJournalEdits(List<Character> list, Random random) throws ListException {
+        for (int i = 0; i < JOURNAL_OPS; i++) {
+            if (list.isEmpty() || !list.gotoNext()) {
+                list.gotoBeginning();
+            }
+            switch (random.nextInt(4)) {
+                case 0 -> list.insert((char) ('a' + random.nextInt(26)));
+                case 1 -> list.remove();
+                default -> list.replace((char) ('a' + random.nextInt(26)));
+            }
+        }
+    }
+
+    /**
+     * 每个读者从开头查找位于中间的字符：一种做法是先复制整个列表（appendFrom）再在副本上 find，
+     * 另一种是在原列表上 openCursor、find、close。输出每个读者的平均耗时（微秒）。
+     */
+    private static void cursors() throws ListException {
+        System.out.println("=== cursors: 每个读者复制列表 vs openCursor (微秒/读者) ===");
+        Map<String, IntFunction<List<Character>>> impls = new LinkedHashMap<>();
+        impls.put("顺序数组", ArrayListImpl::new);
+        impls.put("单向链表", SinglyLinkedListImpl::new);
+        impls.put("双向链表", DoublyLinkedListImpl::new);
+        impls.put("字符数组", CharArrayListImpl::new);
+        impls.put("间隙缓冲", GapBufferListImpl::new);
+        impls.put("并发列表", ConcurrentListImpl::new);
+
+        StringBuilder header = new StringBuilder(String.format("%-8s", "n"));
+        for (String name : impls.keySet()) {
+            header.append(String.format("%14s%14s", name + "/复制", name + "/游标"));
+        }
+        System.out.println(header);
+        for (int n : CURSOR_SIZES) {
+            StringBuilder row = new StringBuilder(String.format("%-8d", n));
+            for (IntFunction<List<Character>> factory : impls.values()) {
+                List<Character> list = factory.apply(n + 16);
+                for (int i = 0; i < n; i++) {
+                    list.insert(i == n / 2 ? 'z' : (char) ('a' + i % 25));
+                }
+                int readers = Math.max(200, CURSOR_READERS * 1000 / n);
+                row.append(String.format("%14.1f%14.1f",
+                        timeReaders(list, n, readers, true), timeReaders(list, n, readers, false)));
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static double timeReaders(List<Character> list, int n, int readers, boolean copy) throws ListException {
+        int hits = 0;
+        long start = 0;
+        for (int pass = 0; pass < 2; pass++) { // 第一遍为预热
+            start = System.nanoTime();
+            for (int i = 0; i < readers; i++) {
+                if (copy) {
+                    List<Character> reader = copyOf(new ArrayListImpl(n + 16), list);
+                    reader.gotoBeginning();
+                    hits += reader.find('z') ? 1 : 0;
+                } else {
+                    try (ListCursor<Character> reader = list.openCursor()) {
+                        reader.gotoBeginning();
+                        hits += reader.find('z') ? 1 : 0;
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (hits == 0) {
+            System.out.print(""); // 使用结果，防止查找被优化掉
+        }
+        return elapsed / 1e3 / readers;
+    }
+
+    /**
+     * 在 STREAM_SIZE 个元素中统计字符 'e' 的个数，输出三种遍历方式的耗时（毫秒）。
+     * 并行流的收益取决于可用的核数（ForkJoinPool.commonPool 的并行度）。
+     */
+    private static void stream() throws ListException {
+        System.out.println("=== stream: " + STREAM_SIZE + " 个元素中计数 (ms)，可用核数 "
+                + Runtime.getRuntime().availableProcessors() + " ===");
+        Map<String, IntFunction<CharList>> impls = new LinkedHashMap<>();
+        impls.put("顺序数组", ArrayListImpl::new);
+        impls.put("char数组", CharArrayListImpl::new);
+        impls.put("单向链表", SinglyLinkedListImpl::new);
+        impls.put("双向链表", DoublyLinkedListImpl::new);
+        impls.put("Treap", TreapListImpl::new);
+        impls.put("Rope", RopeListImpl::new);
+        impls.put("展开链表", UnrolledLinkedListImpl::new);
+        impls.put("数组池单向链表", ArenaSinglyLinkedListImpl::new);
+        impls.put("数组池双向链表", ArenaDoublyLinkedListImpl::new);
+        System.out.println(String.format("%-12s%14s%14s%14s", "实现", "光标遍历", "chars()", "parallel()"));
+        for (Map.Entry<String, IntFunction<CharList>> entry : impls.entrySet()) {
+            CharList list = filledList(entry.getValue(), STREAM_SIZE);
+            double cursorMillis = 0;
+            double sequentialMillis = 0;
+            double parallelMillis = 0;
+            long checksum = 0;
+            for (int pass = 0; pass < 5; pass++) { // 取最后一遍，前几遍为预热
+                long start = System.nanoTime();
+                long count = 0;
+                list.gotoBeginning();
+                do {
+                    if (list.getCursor() == 'e') {
+                        count++;
+                    }
+                } while (list.gotoNext());
+                cursorMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                count += list.chars().filter(c -> c == 'e').count();
+                sequentialMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                count += list.chars().parallel().filter(c -> c == 'e').count();
+                parallelMillis = (System.nanoTime() - start) / 1e6;
+                checksum += count;
+            }
+            System.out.println(String.format("%-12s%14.2f%14.2f%14.2f", entry.getKey(),
+                    cursorMillis, sequentialMillis, parallelMillis) + ((checksum == 0) ? " " : ""));
+        }
+    }
+
+    /**
+     * 依次运行三个阶段：光标附近的连续编辑（间隙缓冲占优）、在开头与末尾之间来回编辑（双向链表占优）、
+     * moveToNth 与 find 为主（数组类表示占优）。输出每个阶段的耗时（毫秒），自适应列表另外输出阶段结束时的表示。
+     */
+    private static void adaptive() throws ListException {
+        System.out.println("=== adaptive: " + ADAPTIVE_SIZE + " 个元素，每阶段 " + ADAPTIVE_ROUNDS + " 轮 (ms) ===");
+        Map<String, IntFunction<List<Character>>> impls = new LinkedHashMap<>();
+        impls.put("字符数组", CharArrayListImpl::new);
+        impls.put("间隙缓冲", GapBufferListImpl::new);
+        impls.put("双向链表", DoublyLinkedListImpl::new);
+        impls.put("自适应", AdaptiveListImpl::new);
+        String[] phases = {"局部编辑", "首尾编辑", "跳转查找"};
+        System.out.println(String.format("%-12s%14s%14s%14s", "实现", phases[0], phases[1], phases[2]));
+        for (Map.Entry<String, IntFunction<List<Character>>> entry : impls.entrySet()) {
+            List<Character> list = filledList(entry.getValue(), ADAPTIVE_SIZE);
+            StringBuilder row = new StringBuilder(String.format("%-12s", entry.getKey()));
+            Random random = new Random(7);
+            for (int phase = 0; phase < phases.length; phase++) {
+                long start = System.nanoTime();
+                runAdaptivePhase(list, phase, random);
+                row.append(String.format("%14.1f", (System.nanoTime() - start) / 1e6));
+            }
+            if (list instanceof AdaptiveListImpl) {
+                AdaptiveListImpl adaptive = (AdaptiveListImpl) list;
+                row.append("  (最终表示 ").append(adaptive.getRepresentation())
+                        .append("，迁移 ").append(adaptive.getMigrationCount()).append(" 次)");
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static void runAdaptivePhase(List<Character> list, int phase, Random random) throws ListException {
+        for (int i = 0; i < ADAPTIVE_ROUNDS; i++) {
+            switch (phase) {
+                case 0 -> { // 在光标附近插入、删除、前后移动
+                    list.insert((char) ('a' + random.nextInt(26)));
+                    list.gotoPrev();
+                    list.remove();
+                    list.gotoNext();
+                }
+                case 1 -> { // 开头插入、末尾删除
+                    list.gotoBeginning();
+                    list.insert((char) ('a' + random.nextInt(26)));
+                    list.gotoEnd();
+                    list.remove();
+                }
+                default -> { // 随机跳转后查找
+                    list.moveToNth(random.nextInt(ADAPTIVE_SIZE));
+                    list.find((char) ('a' + random.nextInt(26)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 两种文本：随机小写字母（首字符经常命中但很快失配），以及全是 'a' 只在末尾有 "ab" 的最坏情况
+     * （逐个位置核对为 O(n * m)）。模式串长度为 16，位于文本末尾。输出每次查找的耗时（微秒）。
+     */
+    private static void sequence() throws ListException {
+        System.out.println("=== sequence: " + SEQUENCE_SIZE + " 个元素中查找长度 16 的序列 (us/次) ===");
+        Map<String, IntFunction<CharList>> impls = new LinkedHashMap<>();
+        impls.put("顺序数组", ArrayListImpl::new);
+        impls.put("单向链表(可逆)", capacity -> new SinglyLinkedListImpl(capacity, true)); // 手写做法要 gotoPrev
+        impls.put("双向链表", DoublyLinkedListImpl::new);
+        impls.put("间隙缓冲(默认实现)", GapBufferListImpl::new);
+        String[] texts = {"随机文本", "最坏情况"};
+        System.out.println(String.format("%-16s%14s%14s%14s%14s", "实现",
+                texts[0] + "/手写", texts[0] + "/KMP", texts[1] + "/手写", texts[1] + "/KMP"));
+        for (Map.Entry<String, IntFunction<CharList>> entry : impls.entrySet()) {
+            StringBuilder row = new StringBuilder(String.format("%-16s", entry.getKey()));
+            for (int kind = 0; kind < texts.length; kind++) {
+                StringBuilder text = new StringBuilder();
+                Random random = new Random(5);
+                for (int i = 0; i < SEQUENCE_SIZE - 16; i++) {
+                    text.append((kind == 0) ? (char) ('a' + random.nextInt(26)) : 'a');
+                }
+                String pattern = (kind == 0) ? "qwertyuiopasdfgh" : "aaaaaaaaaaaaaaab";
+                text.append(pattern);
+                CharList list = entry.getValue().apply(SEQUENCE_SIZE + 16);
+                list.insertAll(text);
+                for (int mode = 0; mode < 2; mode++) {
+                    long best = Long.MAX_VALUE;
+                    for (int round = 0; round < SEQUENCE_ROUNDS; round++) {
+                        list.gotoBeginning();
+                        long start = System.nanoTime();
+                        boolean found = (mode == 0) ? findByHand(list, pattern) : list.findSequence(pattern);
+                        best = Math.min(best, System.nanoTime() - start);
+                        if (!found) {
+                            throw new IllegalStateException("序列未找到");
+                        }
+                    }
+                    row.append(String.format("%14.1f", best / 1e3));
+                }
+            }
+            System.out.println(row);
+        }
+    }
+
+    // 手写做法：find 首字符，再用 gotoNext 逐个核对后面的字符，失配时回到候选位置的下一个元素重新 find
+    private static boolean findByHand(List<Character> list, String pattern) {
+        while (list.find(pattern.charAt(0))) {
+            int matched = 1;
+            int steps = 0;
+            while (matched < pattern.length() && list.gotoNext()) {
+                steps++;
+                if (list.getCursor() != pattern.charAt(matched)) {
+                    break;
+                }
+                matched++;
+            }
+            // 回到候选位置
+            for (int i = 0; i < steps; i++) {
+                list.gotoPrev();
+            }
+            if (matched == pattern.length()) {
+                return true;
+            }
+            if (!list.gotoNext()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 对 RELOAD_SIZE 个元素的顺序数组、单向链表、双向链表、ResizingQueue<Integer> 以及 char[] 存储的
+     * 字符数组、间隙缓冲区、内存映射三种列表：先计时逐个 insert/enqueue
+     * 建立结构（相当于重放命令），再用 save 写入临时文件、用 load 读回（FileChannel），输出三者的耗时与文件大小。
+     */
+    private static void reload() throws ListException {
+        System.out.println("=== reload: " + RELOAD_SIZE + " 个元素的二进制快照 (ms) ===");
+        System.out.println(String.format("%-12s%12s%12s%12s%12s", "实现", "重放", "save", "load", "文件(MB)"));
+        try {
+            Path path = Files.createTempFile("reload-benchmark", ".snap");
+            path.toFile().deleteOnExit();
+            String[] names = {"顺序数组", "单向链表", "双向链表", "队列", "字符数组", "间隙缓冲区", "内存映射"};
+            for (int kind = 0; kind < names.length; kind++) {
+                // 每种结构在单独的方法中测量，返回后上一种结构即可回收，不影响下一种的 GC
+                System.out.println(String.format("%-12s", names[kind]) + reloadRow(kind, path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String reloadRow(int kind, Path path) throws ListException, IOException {
+        long start = System.nanoTime();
+        Object built = buildForReload(kind);
+        double replayMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            switch (kind) {
+                case 0 -> ((ArrayListImpl) built).save(channel);
+                case 1 -> ((SinglyLinkedListImpl) built).save(channel);
+                case 2 -> ((DoublyLinkedListImpl) built).save(channel);
+                case 3 -> {
+                    @SuppressWarnings("unchecked")
+                    ResizingQueue<Integer> queue = (ResizingQueue<Integer>) built;
+                    queue.save(channel);
+                }
+                case 4 -> ((CharArrayListImpl) built).save(channel);
+                case 5 -> ((GapBufferListImpl) built).save(channel);
+                default -> {
+                    try (MappedListImpl mapped = (MappedListImpl) built) {
+                        mapped.save(channel);
+                    }
+                }
+            }
+        }
+        double saveMillis = (System.nanoTime() - start) / 1e6;
+        built = null; // 读回时堆上只有一份数据
+
+        start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            switch (kind) {
+                case 0 -> ArrayListImpl.load(channel);
+                case 1 -> SinglyLinkedListImpl.load(channel);
+                case 2 -> DoublyLinkedListImpl.load(channel);
+                case 3 -> ResizingQueue.load(channel, Integer.class);
+                case 4 -> CharArrayListImpl.load(channel);
+                case 5 -> GapBufferListImpl.load(channel);
+                default -> MappedListImpl.load(channel).close();
+            }
+        }
+        double loadMillis = (System.nanoTime() - start) / 1e6;
+        return String.format("%12.1f%12.1f%12.1f%12.1f", replayMillis, saveMillis, loadMillis, Files.size(path) / 1e6);
+    }
+
+    private static Object buildForReload(int kind) throws ListException {
+        if (kind == 3) {
+            ResizingQueue<Integer> queue = new ResizingQueue<>();
+            for (int i = 0; i < RELOAD_SIZE; i++) {
+                queue.enqueue(i);
+            }
+            return queue;
+        }
+        List<Character> list = switch (kind) {
+            case 0 -> new ArrayListImpl(RELOAD_SIZE);
+            case 1 -> new SinglyLinkedListImpl(RELOAD_SIZE);
+            case 2 -> new DoublyLinkedListImpl(RELOAD_SIZE);
+            case 4 -> new CharArrayListImpl(RELOAD_SIZE);
+            case 5 -> new GapBufferListImpl(RELOAD_SIZE);
+            default -> new MappedListImpl(RELOAD_SIZE);
+        };
+        for (int i = 0; i < RELOAD_SIZE; i++) {
+            list.insert((char) ('a' + i % 26));
+        }
+        return list;
+    }
+
+    /**
+     * 每轮插入 POOL_SIZE 个字符（中间穿插删除与 removeRange），然后 clear，模拟 list_testcase.txt 中
+     * "~" 之后重新填充的用法。预热之后测量 POOL_CYCLES 轮，输出每次操作的耗时、当前线程分配的字节数
+     * （ThreadMXBean.getThreadAllocatedBytes）以及期间的 GC 次数。
+     */
+    private static void pool() throws ListException {
+        System.out.println("=== pool: 每轮填充 " + POOL_SIZE + " 个字符后 clear，共 " + POOL_CYCLES + " 轮 ===");
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("当前JVM不支持按线程统计分配的字节数");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+
+        Map<String, IntFunction<List<Character>>> impls = new LinkedHashMap<>();
+        impls.put("单向链表", SinglyLinkedListImpl::new);
+        impls.put("单向链表+复用", capacity -> {
+            SinglyLinkedListImpl list = new SinglyLinkedListImpl(capacity);
+            list.setPooled(true);
+            return list;
+        });
+        impls.put("可逆单向链表", capacity -> new SinglyLinkedListImpl(capacity, true));
+        impls.put("可逆单向链表+复用", capacity -> {
+            SinglyLinkedListImpl list = new SinglyLinkedListImpl(capacity, true);
+            list.setPooled(true);
+            return list;
+        });
+        impls.put("双向链表", DoublyLinkedListImpl::new);
+        impls.put("双向链表+复用", capacity -> {
+            DoublyLinkedListImpl list = new DoublyLinkedListImpl(capacity);
+            list.setPooled(true);
+            return list;
+        });
+        System.out.println(String.format("%-16s%14s%14s%10s", "实现", "ns/操作", "字节/操作", "GC次数"));
+        for (Map.Entry<String, IntFunction<List<Character>>> entry : impls.entrySet()) {
+            List<Character> list = entry.getValue().apply(2 * POOL_SIZE);
+            Random random = new Random(3);
+            for (int i = 0; i < POOL_WARMUP_CYCLES; i++) {
+                runPoolCycle(list, random);
+            }
+            long gcBefore = gcCount();
+            long bytesBefore = allocation.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            long ops = 0;
+            for (int i = 0; i < POOL_CYCLES; i++) {
+                ops += runPoolCycle(list, random);
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes = allocation.getThreadAllocatedBytes(thread) - bytesBefore;
+            System.out.println(String.format("%-16s%14.1f%14.2f%10d", entry.getKey(),
+                    (double) elapsed / ops, (double) bytes / ops, gcCount() - gcBefore));
+        }
+    }
+
+    // 一轮 "填充 + 编辑 + clear"，返回执行的操作数
+    private static int runPoolCycle(List<Character> list, Random random) throws ListException {
+        int ops = 0;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            list.insert((char) ('a' + i % 26)); // 装箱的 Character 落在缓存范围内，不计入分配
+            ops++;
+            switch (random.nextInt(16)) {
+                case 0 -> {
+                    list.remove();
+                    ops++;
+                }
+                case 1 -> {
+                    list.removeRange(4);
+                    ops++;
+                }
+                default -> {
+                }
+            }
+        }
+        list.clear();
+        return ops + 1;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    // 运行 CONCURRENT_MILLIS 毫秒，返回所有读线程合计每毫秒完成的轮数
+    private static double readThroughput(List<Character> list, int threads, boolean withWriter) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder rounds = new LongAdder();
+        Thread[] workers = new Thread[withWriter ? threads + 1 : threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                long done = 0;
+                while (running.get()) {
+                    list.gotoBeginning();
+                    list.find((char) ('a' + random.nextInt(26)));
+                    list.getCursor();
+                    done++;
+                }
+                rounds.add(done);
+            });
+        }
+        if (withWriter) {
+            workers[threads] = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        list.moveToNth(CONCURRENT_SIZE / 2);
+                        list.insert('x');
+                        list.remove();
+                        LockSupport.parkNanos(WRITER_PAUSE_MICROS * 1000L);
+                    }
+                } catch (ListException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        long start = System.nanoTime();
+        LockSupport.parkNanos(CONCURRENT_MILLIS * 1_000_000L);
+        running.set(false);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+        return rounds.sum() / ((System.nanoTime() - start) / 1e6);
+    }
+
+    // 用一把全局锁包装一个列表：每次调用都在 synchronized (list) 中执行（批量操作沿用默认实现）
+    private static List<Character> synchronizedReads(List<Character> list) {
+        return new List<Character>() {
+            @Override
+            public synchronized void insert(Character newElement) throws ListException {
+                list.insert(newElement);
+            }
+
+            @Override
+            public synchronized void remove() {
+                list.remove();
+            }
+
+            @Override
+            public synchronized void replace(Character newElement) {
+                list.replace(newElement);
+            }
+
+            @Override
+            public synchronized void clear() {
+                list.clear();
+            }
+
+            @Override
+            public synchronized boolean isEmpty() {
+                return list.isEmpty();
+            }
+
+            @Override
+            public synchronized boolean isFull() {
+                return list.isFull();
+            }
+
+            @Override
+            public synchronized boolean gotoBeginning() {
+                return list.gotoBeginning();
+            }
+
+            @Override
+            public synchronized boolean gotoEnd() {
+                return list.gotoEnd();
+            }
+
+            @Override
+            public synchronized boolean gotoNext() {
+                return list.gotoNext();
+            }
+
+            @Override
+            public synchronized boolean gotoPrev() {
+                return list.gotoPrev();
+            }
+
+            @Override
+            public synchronized Character getCursor() {
+                return list.getCursor();
+            }
+
+            @Override
+            public synchronized void showStructure(PrintWriter pw) {
+                list.showStructure(pw);
+            }
+
+            @Override
+            public synchronized void moveToNth(int n) {
+                list.moveToNth(n);
+            }
+
+            @Override
+            public synchronized boolean find(Character searchElement) {
+                return list.find(searchElement);
+            }
+        };
+    }
+
+    // ---------------- 辅助方法 ----------------
+
+    private static void printHeader() {
+        StringBuilder header = new StringBuilder(String.format("%-8s", "n"));
+        for (String name : IMPLS.keySet()) {
+            header.append(String.format("%14s", name));
+        }
+        header.append(String.format("%14s", "内存映射"));
+        System.out.println(header);
+    }
+
+    // 构造一个含 n 个元素的列表（容量留出余量），光标停在开头
+    private static <L extends List<Character>> L filledList(IntFunction<L> factory, int n) throws ListException {
+        L list = factory.apply(n + 16);
+        for (int i = 0; i < n; i++) {
+            list.insert((char) ('a' + i % 26));
+        }
+        list.gotoBeginning();
+        return list;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * List 的附加游标（由 List.openCursor() 创建）
+ *
+ * 每个游标独立地标记列表中的一个元素，与列表自身的光标互不影响；同一个列表可以同时打开多个游标。
+ * 通过列表做的修改会同步调整所有打开的游标：游标所在的元素被删除时，游标按 remove 的规则
+ * 移到后一个元素（删除的是最后一个元素时移到开头），列表被清空时游标不再标记任何元素。
+ * 游标与列表共享同一份数据，并不是线程安全的。用完后应调用 close()，关闭后的游标不再被维护。
+ */
+public interface ListCursor<T> extends AutoCloseable {
+	boolean gotoBeginning();
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * If the list is not empty, then moves this cursor to the beginning of the list and returns true.
+	 * Otherwise, returns false.
+	 */
+
+	boolean gotoEnd();
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * If the list is not empty, then moves this cursor to the end of the list and returns true.
+	 * Otherwise, returns false.
+	 */
+
+	boolean gotoNext();
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * If this cursor is not at the end of the list, then moves it to the next element and returns true.
+	 * Otherwise, returns false. A cursor that marks no element moves to the beginning of a non-empty list.
+	 */
+
+	boolean gotoPrev();
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * If this cursor is not at the beginning of the list, then moves it to the preceding element and returns true.
+	 * Otherwise, returns false.
+	 */
+
+	T getCursor();
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * Returns a copy of the element marked by this cursor, or null if it marks no element.
+	 */
+
+	boolean find(T searchElement);
+	/*
+	 * Precondition:
+	 * Cursor is open.
+	 * PostCondition:
+	 * Same as List.find, but starts at and moves this cursor instead of the list's cursor
+	 * (a cursor that marks no element starts at the beginning).
+	 */
+
+	@Override
+	void close();
+	/*
+	 * Precondition:
+	 * None
+	 * PostCondition:
+	 * Detaches this cursor from the list. Closing an already closed cursor does nothing;
+	 * any other operation on a closed cursor throws IllegalStateException.
+	 */
+}
@@ -1,8 +1,13 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Scanner;
 
 /**
  * List ADT 测试运行器
- * 支持三种实现：顺序数组、单向链表、双向链表
+ * 支持十五种实现（另有一项带日志的包装器的回放测试）：顺序数组、单向链表、双向链表、间隙缓冲、字符数组、Treap、Rope、数组池单向链表、数组池双向链表、展开链表、
+ * 可逆光标模式的单向链表、线程安全的并发列表、支持快照的持久化Treap、基于内存映射文件的堆外列表，
+ * 以及按操作组合自动切换表示的自适应列表
  */
 public class ListTestRunner {
 
@@ -11,7 +16,20 @@ public class ListTestRunner {
         System.out.println("1. 顺序数组实现");
         System.out.println("2. 单向链表实现");
         System.out.println("3. 双向链表实现");
-        System.out.print("请选择测试类型 (1-3): ");
+        System.out.println("4. 间隙缓冲实现");
+        System.out.println("5. 字符数组实现");
+        System.out.println("6. Treap实现");
+        System.out.println("7. Rope实现");
+        System.out.println("8. 数组池单向链表实现");
+        System.out.println("9. 数组池双向链表实现");
+        System.out.println("10. 展开链表实现");
+        System.out.println("11. 单向链表实现（可逆光标）");
+        System.out.println("12. 并发列表实现");
+        System.out.println("13. 持久化Treap实现");
+        System.out.println("14. 内存映射实现");
+        System.out.println("15. 自适应实现");
+        System.out.println("16. 带日志的包装（日志回绕后整段回退）");
+        System.out.print("请选择测试类型 (1-16): ");
         String name = "";
         try (Scanner scanner = new Scanner(System.in)) {
             int choice = scanner.nextInt();
@@ -31,6 +49,75 @@ public class ListTestRunner {
                     FileImt.runTests("双向链表", "list_testcase.txt", list);
                     name = "双向链表";
                 }
+                case 4 -> {
+                    List<Character> list = new GapBufferListImpl();
+                    FileImt.runTests("间隙缓冲", "list_testcase.txt", list);
+                    name = "间隙缓冲";
+                }
+                case 5 -> {
+                    List<Character> list = new CharArrayListImpl();
+                    FileImt.runTests("字符数组", "list_testcase.txt", list);
+                    name = "字符数组";
+                }
+                case 6 -> {
+                    List<Character> list = new TreapListImpl();
+                    FileImt.runTests("Treap", "list_testcase.txt", list);
+                    name = "Treap";
+                }
+                case 7 -> {
+                    List<Character> list = new RopeListImpl();
+                    FileImt.runTests("Rope", "list_testcase.txt", list);
+                    name = "Rope";
+                }
+                case 8 -> {
+                    List<Character> list = new ArenaSinglyLinkedListImpl();
+                    FileImt.runTests("数组池单向链表", "list_testcase.txt", list);
+                    name = "数组池单向链表";
+                }
+                case 9 -> {
+                    List<Character> list = new ArenaDoublyLinkedListImpl();
+                    FileImt.runTests("数组池双向链表", "list_testcase.txt", list);
+                    name = "数组池双向链表";
+                }
+                case 10 -> {
+                    List<Character> list = new UnrolledLinkedListImpl();
+                    FileImt.runTests("展开链表", "list_testcase.txt", list);
+                    name = "展开链表";
+                }
+                case 11 -> {
+                    List<Character> list = new SinglyLinkedListImpl(512, true);
+                    FileImt.runTests("可逆单向链表", "list_testcase.txt", list);
+                    name = "可逆单向链表";
+                }
+                case 12 -> {
+                    List<Character> list = new ConcurrentListImpl();
+                    FileImt.runTests("并发列表", "list_testcase.txt", list);
+                    name = "并发列表";
+                }
+                case 13 -> {
+                    List<Character> list = new PersistentListImpl();
+                    FileImt.runTests("持久化Treap", "list_testcase.txt", list);
+                    name = "持久化Treap";
+                }
+                case 14 -> {
+                    // 以临时文件为存储，测试完成后关闭（删除临时文件）
+                    try (MappedListImpl list = new MappedListImpl()) {
+                        FileImt.runTests("内存映射", "list_testcase.txt", list);
+                    } catch (IOException e) {
+                        System.err.println("关闭内存映射列表失败: " + e.getMessage());
+                    }
+                    name = "内存映射";
+                }
+                case 15 -> {
+                    List<Character> list = new AdaptiveListImpl();
+                    FileImt.runTests("自适应", "list_testcase.txt", list);
+                    name = "自适应";
+                }
+                case 16 -> {
+                    FileImt.runTests("带日志的包装", "list_testcase.txt", newJournaledList());
+                    name = "带日志的包装";
+                    System.out.println("整段回退与逐步 undo 对比: " + (rewindMatchesUndo() ? "相同" : "不同"));
+                }
                 default -> System.out.println("无效选择！");
             }
         }
@@ -44,6 +131,36 @@ public class ListTestRunner {
 
     // 文件读写行为已迁移到 FileImt.runTests/getDataFilePath
 
+    // 日志容量与检查点间隔都远小于测试文件的修改次数，运行结束时环形缓冲区已经回绕多次
+    private static JournaledList newJournaledList() {
+        return new JournaledList(new ArrayListImpl(), 300, 64);
+    }
+
+    /**
+     * 把测试文件分别回放到两个带日志的包装器上，一个用 rewind 一次回退全部历史，另一个逐步 undo，
+     * 比较两者回退的步数与最终的内容、光标是否一致
+     */
+    private static boolean rewindMatchesUndo() {
+        JournaledList rewound = newJournaledList();
+        JournaledList undone = newJournaledList();
+        FileImt.runTests("带日志的包装", "list_testcase.txt", rewound);
+        FileImt.runTests("带日志的包装", "list_testcase.txt", undone);
+        int steps = rewound.rewind(Integer.MAX_VALUE);
+        int undoSteps = 0;
+        while (undone.undo()) {
+            undoSteps++;
+        }
+        return steps == undoSteps && structureOf(rewound).equals(structureOf(undone));
+    }
+
+    private static String structureOf(List<Character> list) {
+        StringWriter text = new StringWriter();
+        PrintWriter pw = new PrintWriter(text);
+        list.showStructure(pw);
+        pw.flush();
+        return text.toString();
+    }
+
     public static void processCommand(List<Character> list, String command) throws ListException {
         if (command.length() < 1)
             return;
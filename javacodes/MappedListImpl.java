@@ -0,0 +1,579 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+
+/**
+ * 基于内存映射文件的List实现（堆外存储）
+ * 数据类型：Character
+ *
+ * 元素以间隙缓冲区（与 GapBufferListImpl 相同）的形式存放在 FileChannel.map 映射的文件中，
+ * 堆上只有少量固定大小的对象，因此可以容纳数千万个字符而几乎不产生 GC 压力。
+ * 文件开头是一个固定的头部，记录容量、长度、光标与间隙位置，每次修改时同步更新，
+ * 因此 open 重新打开一个已有的文件只需读头部，不需要解析内容。光标语义与 ArrayListImpl 完全一致。
+ *
+ * 文件格式（小端序）：
+ * [0] 魔数 MAGIC  [4] 版本 VERSION  [8] 容量（字符数）  [12] 长度  [16] 光标  [20] 间隙起点  [24..32) 保留
+ * [32..) capacity 个 char，元素存放在 [0, gapStart) 与 [gapStart + capacity - 长度, capacity) 两段中
+ *
+ * 另外也可以用 save/load 与其它 List 实现交换二进制快照（见 SnapshotFormat），元素经 scratch 按块复制；
+ * load 得到的列表以临时文件为存储。
+ *
+ * 无参构造方法、MappedListImpl(int) 与 load 以临时文件为存储，close 时关闭并删除临时文件，用完后必须关闭
+ * （例如 try (MappedListImpl list = new MappedListImpl()) {...}），否则临时文件会留在磁盘上；
+ * 映射本身在对象不可达后由 GC 释放。
+ */
+public class MappedListImpl implements CharList, Closeable {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int MAGIC = 0x4C495354;    // "LIST"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int CURSOR_OFFSET = 16;
+    private static final int GAP_START_OFFSET = 20;
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_BYTES) / Character.BYTES;
+    private static final int CHUNK = 8192;          // 移动间隙、扫描时每次搬运的字符数
+
+    private final FileChannel channel;
+    private final Path temporary;           // 临时文件，close 时删除；create/open 打开的文件为 null
+    private final MappedByteBuffer mapped;  // 整个文件的映射（头部用它读写）
+    private final CharBuffer chars;         // 数据区的 char 视图
+    private final char[] scratch = new char[CHUNK];
+    private final int capacity;
+    private int gapStart;   // 间隙起点（含）
+    private int gapEnd;     // 间隙终点（不含）
+    private int size;
+    private int cursor;     // 光标的逻辑位置，空列表时为-1
+
+    public MappedListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 使用一个临时文件作为存储，close 时删除
+     */
+    public MappedListImpl(int capacity) {
+        this(createTemporary(capacity), capacity);
+    }
+
+    private MappedListImpl(Path temporary, int capacity) {
+        this(openTemporary(temporary), temporary, capacity, true);
+    }
+
+    private MappedListImpl(FileChannel channel, Path temporary, int capacity, boolean fresh) {
+        this.channel = channel;
+        this.temporary = temporary;
+        this.capacity = capacity;
+        try {
+            this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * Character.BYTES);
+        } catch (IOException e) {
+            // 构造失败时没有对象可以 close，在这里释放通道与临时文件
+            try {
+                releaseFile();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+        this.mapped.order(ByteOrder.LITTLE_ENDIAN);
+        this.chars = mapped.slice(HEADER_BYTES, capacity * Character.BYTES).order(ByteOrder.LITTLE_ENDIAN).asCharBuffer();
+        if (fresh) {
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(CAPACITY_OFFSET, capacity);
+            gapStart = 0;
+            gapEnd = capacity;
+            size = 0;
+            cursor = -1; // 空列表时光标为-1
+            writeHeader();
+        } else {
+            size = mapped.getInt(SIZE_OFFSET);
+            cursor = mapped.getInt(CURSOR_OFFSET);
+            gapStart = mapped.getInt(GAP_START_OFFSET);
+            gapEnd = gapStart + (capacity - size);
+        }
+    }
+
+    /**
+     * 新建（或覆盖）文件 path，创建容量为 capacity 的空列表
+     */
+    public static MappedListImpl create(Path path, int capacity) throws IOException {
+        checkCapacity(capacity);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedListImpl(channel, null, capacity, true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 重新打开由 create 创建的文件，只读取头部，内容直接映射使用
+     */
+    public static MappedListImpl open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, channel.size()));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException("不是 MappedListImpl 的数据文件: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("不支持的文件版本 " + header.getInt(4) + ": " + path);
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            int size = header.getInt(SIZE_OFFSET);
+            int cursor = header.getInt(CURSOR_OFFSET);
+            int gapStart = header.getInt(GAP_START_OFFSET);
+            if (capacity < 1 || capacity > MAX_CAPACITY || size < 0 || size > capacity
+                    || gapStart < 0 || gapStart > size || cursor < -1 || cursor >= size
+                    || channel.size() < HEADER_BYTES + (long) capacity * Character.BYTES) {
+                throw new IOException("文件头部已损坏: " + path);
+            }
+            return new MappedListImpl(channel, null, capacity, false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();     // 通道已在构造方法中关闭
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 把映射内容写回磁盘
+     */
+    public void force() {
+        mapped.force();
+    }
+
+    /**
+     * 写回磁盘并关闭文件；以临时文件为存储时不写回，直接关闭并删除临时文件（之后不应再使用本对象）
+     */
+    @Override
+    public void close() throws IOException {
+        if (temporary == null) {
+            force();
+        }
+        releaseFile();
+    }
+
+    /**
+     * 把元素、光标与容量写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST, size, cursor, capacity, 0);
+        saveRange(out, 0, gapStart);
+        saveRange(out, gapEnd, capacity);
+        out.finish();
+    }
+
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个以临时文件为存储的列表，不关闭通道
+     */
+    public static MappedListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        MappedListImpl list = new MappedListImpl(in.capacity());
+        try {
+            for (int start = 0; start < in.count(); start += CHUNK) {
+                int n = Math.min(CHUNK, in.count() - start);
+                in.getChars(list.scratch, 0, n);
+                list.chars.put(start, list.scratch, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            list.close();
+            throw e;
+        }
+        list.gapStart = in.count();
+        list.size = in.count();
+        list.cursor = in.cursor();
+        list.writeHeader();
+        return list;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 新元素插在光标之后（空列表时插在位置0）
+        moveGapTo(cursor + 1);
+        chars.put(gapStart++, newElement);
+        size++;
+        cursor++; // 移动光标到新插入的元素
+        writeHeader();
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        // 把间隙移到光标元素之后，光标元素即为间隙前的最后一个字符
+        moveGapTo(cursor + 1);
+        gapStart--;
+        size--;
+
+        // 调整光标位置
+        if (size == 0) {
+            cursor = -1; // 列表变空
+        } else if (cursor >= size) {
+            cursor = 0; // 删除的是最后一个元素，光标移到开头
+        }
+        // 否则光标保持在当前位置（即原来的下一个元素）
+        writeHeader();
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null) {
+            return;
+        }
+
+        chars.put(physicalIndex(cursor), newElement);
+    }
+
+    @Override
+    public void clear() {
+        gapStart = 0;
+        gapEnd = capacity;
+        size = 0;
+        cursor = -1;
+        writeHeader();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        setCursor(0);
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        setCursor(size - 1);
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor >= size - 1) {
+            return false;
+        }
+        setCursor(cursor + 1);
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor <= 0) {
+            return false;
+        }
+        setCursor(cursor - 1);
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return chars.get(physicalIndex(cursor));
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 依次输出间隙前、间隙后两段元素（按块读出）
+        printRange(pw, 0, gapStart);
+        printRange(pw, gapEnd, capacity);
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursor + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size || cursor < 0 || cursor >= size) {
+            return;
+        }
+
+        // 删除当前元素
+        moveGapTo(cursor + 1);
+        char element = chars.get(--gapStart);
+
+        // 在位置n插入元素（删除后腾出的一格保证间隙非空）
+        moveGapTo(n);
+        chars.put(gapStart++, element);
+        cursor = n;
+        writeHeader();
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始搜索，先扫描间隙前的部分，再扫描间隙后的部分
+        char target = searchElement;
+        int i = indexOf(cursor, gapStart, target);
+        if (i >= 0) {
+            setCursor(i);
+            return true;
+        }
+        int offset = gapEnd - gapStart;
+        i = indexOf(Math.max(cursor, gapStart) + offset, capacity, target);
+        if (i >= 0) {
+            setCursor(i - offset);
+            return true;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        setCursor(size - 1);
+        return false;
+    }
+
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        int count = elements.length();
+        if (count == 0) {
+            return;
+        }
+        if (size + count > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 间隙移到光标之后，新元素按块写入间隙
+        moveGapTo(cursor + 1);
+        for (int done = 0; done < count; ) {
+            int n = Math.min(CHUNK, count - done);
+            for (int i = 0; i < n; i++) {
+                scratch[i] = elements.charAt(done + i);
+            }
+            chars.put(gapStart, scratch, 0, n);
+            gapStart += n;
+            done += n;
+        }
+        size += count;
+        cursor += count; // 光标移到最后插入的元素
+        writeHeader();
+    }
+
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (!(other instanceof MappedListImpl)) {
+            // 先复制并数出 other 的元素（见 CharList.toCharArray），检查容量之后才移动光标、插入
+            char[] elements = CharList.toCharArray(other);
+            if (size + elements.length > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (elements.length > 0) {
+                gotoEnd();
+                insertAll(CharBuffer.wrap(elements));
+            }
+            return;
+        }
+        MappedListImpl source = (MappedListImpl) other;
+        if (source.isEmpty()) {
+            return;
+        }
+        if (size + source.size > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 间隙移到末尾，把 source 的两段按块直接复制进间隙（不移动 source 的光标）
+        moveGapTo(size);
+        appendRange(source, 0, source.gapStart);
+        appendRange(source, source.gapEnd, source.capacity);
+        size += source.size;
+        cursor = size - 1;
+        writeHeader();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 按逻辑下标直接读取映射区（绝对位置的 get 不改变缓冲区状态，可以多线程并行读取），跳过间隙
+        int split = gapStart;
+        int offset = gapEnd - gapStart;
+        return new CharSpliterator(i -> chars.get(i < split ? i : i + offset), 0, size);
+    }
+
+    // 辅助方法：逻辑位置 -> 数据区下标
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    // 辅助方法：把间隙移动到逻辑位置 index 处（即间隙前恰有 index 个元素）
+    private void moveGapTo(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            copy(index, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            copy(gapEnd, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    // 辅助方法：数据区内的 memmove，经 scratch 按块搬运（区间可能重叠，按方向决定搬运顺序）
+    private void copy(int from, int to, int count) {
+        if (to < from) {
+            for (int done = 0; done < count; done += CHUNK) {
+                int n = Math.min(CHUNK, count - done);
+                chars.get(from + done, scratch, 0, n);
+                chars.put(to + done, scratch, 0, n);
+            }
+        } else {
+            for (int remaining = count; remaining > 0; remaining -= CHUNK) {
+                int n = Math.min(CHUNK, remaining);
+                chars.get(from + remaining - n, scratch, 0, n);
+                chars.put(to + remaining - n, scratch, 0, n);
+            }
+        }
+    }
+
+    // 辅助方法：在数据区 [from, to) 中查找 c，按块读出后用 CharScan 扫描
+    private int indexOf(int from, int to, char c) {
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            chars.get(start, scratch, 0, n);
+            int i = CharScan.indexOf(scratch, 0, n, c);
+            if (i >= 0) {
+                return start + i;
+            }
+        }
+        return -1;
+    }
+
+    // 辅助方法：把 source 数据区 [from, to) 中的元素写入间隙起点
+    private void appendRange(MappedListImpl source, int from, int to) {
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            source.chars.get(start, scratch, 0, n);
+            chars.put(gapStart, scratch, 0, n);
+            gapStart += n;
+        }
+    }
+
+    // 辅助方法：把数据区 [from, to) 中的元素按块写入快照
+    private void saveRange(SnapshotFormat.Writer out, int from, int to) throws IOException {
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            chars.get(start, scratch, 0, n);
+            out.putChars(scratch, 0, n);
+        }
+    }
+
+    // 辅助方法：输出数据区 [from, to) 中的元素
+    private void printRange(PrintWriter pw, int from, int to) {
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            chars.get(start, scratch, 0, n);
+            for (int i = 0; i < n; i++) {
+                pw.print(scratch[i]);
+                pw.print(' ');
+            }
+        }
+    }
+
+    private void setCursor(int position) {
+        cursor = position;
+        mapped.putInt(CURSOR_OFFSET, cursor);
+    }
+
+    // 辅助方法：把长度、光标、间隙位置写入头部
+    private void writeHeader() {
+        mapped.putInt(SIZE_OFFSET, size);
+        mapped.putInt(CURSOR_OFFSET, cursor);
+        mapped.putInt(GAP_START_OFFSET, gapStart);
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity 必须在 [1, " + MAX_CAPACITY + "] 之间");
+        }
+    }
+
+    // 辅助方法：关闭通道，并删除临时文件（如果有）
+    private void releaseFile() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            if (temporary != null) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    // 辅助方法：创建一个临时文件（close 时删除）
+    private static Path createTemporary(int capacity) {
+        checkCapacity(capacity);
+        try {
+            return Files.createTempFile("mapped-list", ".dat");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 辅助方法：打开临时文件，失败时删除它
+    private static FileChannel openTemporary(Path path) {
+        try {
+            return FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursor;
+    }
+}
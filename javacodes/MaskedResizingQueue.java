@@ -0,0 +1,136 @@
+/**
+ * ResizingQueue 的变体：容量始终是 2 的幂，用位掩码代替取模计算循环下标
+ * 扩容/缩容方案、dequeue 在空队列上返回 null，以及 toString 格式（"elements: n size:N"）都与 ResizingQueue 相同，
+ * 可以直接替换它来回放 test1000/test5000。
+ *
+ * 初始容量为 2，之后只会翻倍或减半，所以容量 N 一直是 2 的幂，数组长度就等于 N，下标为 (i & (N - 1))。
+ * resize 最多调用两次 System.arraycopy（队头到数组末尾一段、数组开头到队尾一段），不再逐个元素取模拷贝。
+ */
+public class MaskedResizingQueue<T> {
+    private T[] array;          // 循环数组，长度为 N
+    private int mask;           // N - 1
+    private int front;          // 队头指针
+    private int rear;           // 队尾指针
+    private int N;              // 当前队列的最大容量（2 的幂）
+    private int size;           // 当前队列中的实际元素个数
+
+    /**
+     * 构造方法，初始化队列，初始容量N=2（与 ResizingQueue 相同）
+     */
+    @SuppressWarnings("unchecked")
+    public MaskedResizingQueue() {
+        N = 2;
+        array = (T[]) new Object[N];
+        mask = N - 1;
+        front = 0;
+        rear = 0;
+        size = 0;
+    }
+
+    /**
+     * 将元素element入队
+     * 如果队列满，扩容到2N
+     *
+     * @param element 要入队的元素
+     */
+    public void enqueue(T element) {
+        if (size == N) {
+            resize(N * 2);
+        }
+        array[rear] = element;
+        rear = (rear + 1) & mask;
+        size++;
+    }
+
+    /**
+     * 将队头元素删除并返回
+     * 如果出队后元素个数是当前容量的1/4，缩容到N/2
+     *
+     * @return 队头元素，如果队列为空则返回null
+     */
+    public T dequeue() {
+        if (isEmpty()) {
+            return null;
+        }
+        T element = array[front];
+        array[front] = null;  // 帮助垃圾回收
+        front = (front + 1) & mask;
+        size--;
+        if (size == N / 4 && N > 2) {
+            resize(N / 2);
+        }
+        return element;
+    }
+
+    /**
+     * 返回当前队列中的实际元素个数
+     *
+     * @return 队列中的元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断队列是否为空
+     *
+     * @return 如果队列为空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 调整数组空间大小，把 size 个元素按顺序搬到新数组的开头
+     * 元素在旧数组中最多分成两段：[front, front + firstPart) 与 [0, size - firstPart)
+     *
+     * @param newN 新的队列容量（2 的幂）
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int newN) {
+        T[] newArray = (T[]) new Object[newN];
+        int firstPart = Math.min(size, array.length - front);
+        System.arraycopy(array, front, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, size - firstPart);
+        array = newArray;
+        N = newN;
+        mask = newN - 1;
+        front = 0;
+        rear = size;            // 扩容与缩容后都有 size < newN
+    }
+
+    /**
+     * 将当前队列中的元素转换为字符串，格式与 ResizingQueue.toString 相同
+     *
+     * @return 队列元素的字符串表示
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        if (size <= 20) {
+            for (int i = 0; i < size; i++) {
+                sb.append(array[(front + i) & mask]);
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        } else {
+            for (int i = 0; i < 5; i++) {
+                sb.append(array[(front + i) & mask]);
+                sb.append(" ");
+            }
+            sb.append(" ... ");
+            for (int i = size - 5; i < size; i++) {
+                sb.append(array[(front + i) & mask]);
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        }
+        sb.append("]");
+        sb.append("\n");
+        sb.append("elements: " + size + " size:" + N);
+        return sb.toString();
+    }
+}
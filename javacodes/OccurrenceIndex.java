@@ -0,0 +1,73 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 字符出现位置索引（供 List 实现的 find 使用）
+ *
+ * 每个元素带一个 long 型的顺序标签（label）：标签的大小顺序与元素在列表中的先后顺序一致，
+ * 插入时在前后两个标签之间取一个新值，因此插入/删除不会改变其它元素的标签。
+ * 索引为每个字符维护一棵 标签 -> 句柄（数组下标无需句柄，链表为节点）的 TreeMap，
+ * find 只需在目标字符的树上取光标标签的后继（ceiling），代价 O(log n)。
+ *
+ * 相邻标签之间没有空位时由各实现重新分配一段标签（relabel），
+ * 分配时新标签在前后两个标签之间取中点，且离前一个标签最多 LABEL_STEP，给后续插入留出空间。
+ */
+final class OccurrenceIndex<H> {
+    static final long LABEL_STEP = 1L << 32;    // 相邻标签的标准间距
+    static final long FIRST_BOUND = 0;          // 第一个元素之前的虚拟标签
+    static final long LAST_BOUND = Long.MAX_VALUE; // 最后一个元素之后的虚拟标签
+    static final long NO_ROOM = -1;             // 两个标签之间已经没有空位
+
+    private final Map<Character, TreeMap<Long, H>> positions = new HashMap<>();
+
+    void add(char c, long label, H handle) {
+        positions.computeIfAbsent(c, key -> new TreeMap<>()).put(label, handle);
+    }
+
+    void remove(char c, long label) {
+        TreeMap<Long, H> labels = positions.get(c);
+        if (labels != null) {
+            labels.remove(label);
+        }
+    }
+
+    /**
+     * 返回字符 c 在标签 from（含）之后的第一次出现，没有时返回 null
+     */
+    Map.Entry<Long, H> ceiling(char c, long from) {
+        TreeMap<Long, H> labels = positions.get(c);
+        return (labels == null) ? null : labels.ceilingEntry(from);
+    }
+
+    void clear() {
+        positions.clear();
+    }
+
+    /**
+     * 在前驱标签 before 与后继标签 after 之间取一个新标签（没有前驱/后继时传 FIRST_BOUND/LAST_BOUND），
+     * 没有空位时返回 NO_ROOM
+     */
+    static long labelBetween(long before, long after) {
+        long gap = after - before;
+        if (gap <= 1) {
+            return NO_ROOM;
+        }
+        return before + Math.min(gap / 2, LABEL_STEP);
+    }
+
+    /**
+     * 把 count 个元素均匀分布在 (lower, upper) 之间时的间距；间距不超过 count 时视为太挤，返回 NO_ROOM
+     */
+    static long spacing(long lower, long upper, int count) {
+        long step = Math.min(LABEL_STEP, (upper - lower) / (count + 1));
+        return (step > count) ? step : NO_ROOM;
+    }
+
+    /**
+     * 全部 count 个元素重新分配标签时的间距（long 的范围足够大，总能分开）
+     */
+    static long fullSpacing(int count) {
+        return Math.min(LABEL_STEP, (LAST_BOUND - FIRST_BOUND) / (count + 1));
+    }
+}
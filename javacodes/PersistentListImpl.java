@@ -0,0 +1,403 @@
+import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+
+/**
+ * 基于持久化（不可变）隐式 Treap 的List实现
+ * 数据类型：Character
+ *
+ * 树节点创建后不再修改（字段均为 final）：插入/删除/替换只复制从根到修改位置的路径，
+ * 其余子树在新旧版本之间共享，因此每次修改期望 O(log n) 时间与空间。
+ * 本类的实例只是指向某个版本的根节点加上一个光标：
+ * - snapshot() 复制这个"句柄"，O(1)，之后两边各自修改互不影响
+ * - 旧版本的节点永远不会被改写，可以交给其它线程只读访问（遍历、showStructure），无需加锁
+ */
+public class PersistentListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+
+    // 不可变的 Treap 节点
+    private static final class Node {
+        final char data;
+        final int priority;
+        final int size;
+        final Node left;
+        final Node right;
+
+        Node(char data, int priority, Node left, Node right) {
+            this.data = data;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    private Node root;
+    private int cursor;         // 光标位置，空列表时为-1
+    private final int capacity;
+    private int seed;           // xorshift 随机数种子，用于生成节点优先级
+
+    // split 的两个结果（避免为每次 split 分配数组）
+    private Node splitLeft;
+    private Node splitRight;
+
+    public PersistentListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersistentListImpl(int capacity) {
+        this(capacity, null, -1, 0x2545F491);
+    }
+
+    private PersistentListImpl(int capacity, Node root, int cursor, int seed) {
+        this.capacity = capacity;
+        this.root = root;
+        this.cursor = cursor;
+        this.seed = seed;
+    }
+
+    /**
+     * 返回当前版本的快照（内容与光标都相同），O(1)。快照与原列表之后的修改互不影响
+     */
+    public PersistentListImpl snapshot() {
+        return new PersistentListImpl(capacity, root, cursor, seed ^ 0x9E3779B9);
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 在光标位置后插入元素（空列表时插入到位置0），光标移到新元素
+        int pos = cursor + 1;
+        split(root, pos);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, new Node(newElement, nextPriority(), null, null)), right);
+        cursor = pos;
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        root = removeAt(root, cursor);
+
+        // 调整光标位置
+        if (isEmpty()) {
+            cursor = -1; // 列表变空
+        } else if (cursor >= size(root)) {
+            cursor = 0; // 删除的是最后一个元素，光标移到开头
+        }
+        // 否则光标已指向原来的下一个元素
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null) {
+            return;
+        }
+
+        root = replaceAt(root, cursor, newElement);
+    }
+
+    @Override
+    public void clear() {
+        // 旧版本的节点仍被快照引用，这里只需丢掉根
+        root = null;
+        cursor = -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size(root) >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = size(root) - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor >= size(root) - 1) {
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor <= 0) {
+            return false;
+        }
+        cursor--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return charAt(cursor);
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        Node version = root; // 整个输出只使用这一个版本
+        if (version == null) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 中序遍历输出所有元素
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        Node node = version;
+        while (node != null || !path.isEmpty()) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            pw.print(node.data);
+            pw.print(' ');
+            node = node.right;
+        }
+        pw.println("{capacity = " + capacity + ", length = " + version.size + ", cursor = " + cursor + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size(root)) {
+            return;
+        }
+
+        char element = charAt(cursor);
+        root = removeAt(root, cursor);
+        split(root, n);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, new Node(element, nextPriority(), null, null)), right);
+        cursor = n;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始中序遍历：先沿路径下降到光标，记下需要回溯的祖先
+        char target = searchElement;
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int k = cursor;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+
+        int index = cursor;
+        while (true) {
+            if (node.data == target) {
+                cursor = index;
+                return true;
+            }
+            // 中序后继：右子树的最左节点，或回溯到的第一个祖先
+            if (node.right != null) {
+                node = node.right;
+                while (node.left != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+            } else if (!path.isEmpty()) {
+                node = path.pop();
+            } else {
+                break;
+            }
+            index++;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        cursor = size(root) - 1;
+        return false;
+    }
+
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        // 逐个插入，先检查容量，避免只插入一部分
+        if (size(root) + elements.length() > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        CharList.super.insertAll(elements);
+    }
+
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (!(other instanceof PersistentListImpl)) {
+            // 先复制并数出 other 的元素（见 CharList.toCharArray），检查容量之后才移动光标、插入
+            char[] elements = CharList.toCharArray(other);
+            if (size(root) + elements.length > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (elements.length > 0) {
+                gotoEnd();
+                insertAll(CharBuffer.wrap(elements));
+            }
+            return;
+        }
+        Node source = ((PersistentListImpl) other).root;
+        if (source == null) {
+            return;
+        }
+        if (size(root) + source.size > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 同类实现之间直接合并两棵树，other 的节点被共享而不是复制
+        root = merge(root, source);
+        cursor = root.size - 1;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 当前版本不会再被修改：中序拷贝出它的元素后即可任意切分，之后对本列表的修改不影响遍历
+        char[] elements = new char[size(root)];
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int i = 0;
+        while (node != null || !path.isEmpty()) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            elements[i++] = node.data;
+            node = node.right;
+        }
+        return new CharSpliterator(index -> elements[index], 0, elements.length);
+    }
+
+    // 辅助方法：读取位置 index 的元素
+    private char charAt(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.data;
+            }
+        }
+    }
+
+    // 辅助方法：返回把位置 index 的元素换成 c 之后的新树（复制路径）
+    private static Node replaceAt(Node node, int index, char c) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(node.data, node.priority, replaceAt(node.left, index, c), node.right);
+        } else if (index > leftSize) {
+            return new Node(node.data, node.priority, node.left, replaceAt(node.right, index - leftSize - 1, c));
+        }
+        return new Node(c, node.priority, node.left, node.right);
+    }
+
+    // 辅助方法：返回删除位置 index 的元素之后的新树（复制路径）
+    private static Node removeAt(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(node.data, node.priority, removeAt(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return new Node(node.data, node.priority, node.left, removeAt(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    // 把树分成前 k 个元素（splitLeft）与其余元素（splitRight），只复制被切开的路径
+    private void split(Node node, int k) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        if (size(node.left) >= k) {
+            split(node.left, k);
+            splitRight = new Node(node.data, node.priority, splitRight, node.right);
+        } else {
+            split(node.right, k - size(node.left) - 1);
+            splitLeft = new Node(node.data, node.priority, node.left, splitLeft);
+        }
+    }
+
+    // 合并两棵树（a 中所有元素都排在 b 之前），只复制合并路径上的节点
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            return new Node(a.data, a.priority, a.left, merge(a.right, b));
+        }
+        return new Node(b.data, b.priority, merge(a, b.left), b.right);
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size(root);
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursor;
+    }
+}
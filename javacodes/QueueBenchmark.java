@@ -0,0 +1,672 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 队列各实现的性能对比（简单的手写基准测试，非 JMH，写法与 ListBenchmark 相同）
+ * 用法：java QueueBenchmark [套件名]，不带参数时运行全部套件；需要在能找到 data 目录的位置运行（见 FileImt）
+ * - ring：ResizingQueue（取模下标、逐个元素拷贝的 resize）与 MaskedResizingQueue（位掩码下标、两次 arraycopy 的 resize）
+ *   在 test5000.txt 回放、固定长度的 "入队 + 出队" 以及反复 "装满 + 倒空" 三种负载下的耗时
+ * - spsc：一个生产者线程把元素交给一个消费者线程，对比 SpscRingQueue（逐个/批量）、加锁的 ResizingQueue 与
+ *   ArrayBlockingQueue 的吞吐量，以及两个线程平均每次交接分配的字节数
+ * - mpmc：1, 2, 4, ... 个线程共用一个队列，各自反复 "突发入队 + 突发出队"，对比加锁的 ResizingQueue、
+ *   ConcurrentLinkedQueue 与 ConcurrentSegmentQueue 的总吞吐量
+ * - latency：逐个记录单次 enqueue/dequeue 的耗时，对比 ResizingQueue、MaskedResizingQueue 与 SegmentedQueue
+ *   在 test5000.txt 回放以及 "增长到数百万个元素再取空" 时的耗时分布（尾部延迟）
+ */
+public class QueueBenchmark {
+
+    // ring 套件：回放 test5000.txt 的遍数、固定长度负载的队列长度与操作次数、装满再倒空的长度与轮数
+    private static final int REPLAY_ROUNDS = 2000;
+    private static final int STEADY_SIZE = 1000;
+    private static final int STEADY_OPS = 20_000_000;
+    private static final int CHURN_SIZE = 1 << 16;
+    private static final int CHURN_ROUNDS = 200;
+
+    // spsc 套件：交接的元素个数、队列容量与批量大小
+    private static final int HANDOFF_COUNT = 20_000_000;
+    private static final int HANDOFF_CAPACITY = 1024;
+    private static final int HANDOFF_BATCH = 64;
+
+    // mpmc 套件：每个配置的预热与测量时间（毫秒）、测量次数、每个线程一次突发入队/出队的元素个数
+    private static final int CONTENTION_WARMUP_MILLIS = 300;
+    private static final int CONTENTION_MILLIS = 500;
+    private static final int CONTENTION_RUNS = 3;
+    private static final int CONTENTION_BURST = 64;
+
+    // latency 套件：增长到的元素个数、测量轮数，以及 test5000.txt 的回放遍数
+    private static final int LATENCY_SIZE = 1 << 21;
+    private static final int LATENCY_ROUNDS = 3;
+    private static final int LATENCY_REPLAY_ROUNDS = 200;
+    private static final long SLOW_OPERATION_NANOS = 100_000;
+
+    // 回放命令的编码：非负数为入队的值，DEQUEUE 为 '-'，QUERY 为 '?'
+    private static final int DEQUEUE = -1;
+    private static final int QUERY = -2;
+
+    public static void main(String[] args) {
+        String suite = (args.length > 0) ? args[0] : "all";
+        if (suite.equals("all") || suite.equals("ring")) {
+            ring();
+        }
+        if (suite.equals("all") || suite.equals("spsc")) {
+            spsc();
+        }
+        if (suite.equals("all") || suite.equals("mpmc")) {
+            mpmc();
+        }
+        if (suite.equals("all") || suite.equals("latency")) {
+            latency();
+        }
+    }
+
+    /**
+     * 三种负载下两个实现的平均单次操作耗时（纳秒）。入队的值事先装箱，不把装箱计入耗时。
+     * 回放前先确认两个实现对每个 '?' 输出的字符串都相同（即都能通过 result5000.txt 的对比）。
+     */
+    private static void ring() {
+        System.out.println("=== ring: ResizingQueue 与 MaskedResizingQueue (ns/操作) ===");
+        System.out.println(String.format("%-24s%18s%22s", "负载", "ResizingQueue", "MaskedResizingQueue"));
+
+        int[] commands = readCommands("test5000.txt");
+        Integer[] values = new Integer[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            values[i] = Math.max(commands[i], 0);
+        }
+        if (!replayOutput(new ResizingQueue<>(), commands, values)
+                .equals(replayOutput(new MaskedResizingQueue<>(), commands, values))) {
+            throw new IllegalStateException("两个实现回放 test5000.txt 的输出不同");
+        }
+
+        long ops = (long) REPLAY_ROUNDS * commands.length;
+        replay(new ResizingQueue<>(), commands, values, REPLAY_ROUNDS / 4); // 预热
+        long start = System.nanoTime();
+        replay(new ResizingQueue<>(), commands, values, REPLAY_ROUNDS);
+        double plain = (double) (System.nanoTime() - start) / ops;
+        replay(new MaskedResizingQueue<>(), commands, values, REPLAY_ROUNDS / 4);
+        start = System.nanoTime();
+        replay(new MaskedResizingQueue<>(), commands, values, REPLAY_ROUNDS);
+        double masked = (double) (System.nanoTime() - start) / ops;
+        printRow("回放 test5000", plain, masked);
+
+        steady(new ResizingQueue<>(), values, STEADY_OPS / 4);
+        start = System.nanoTime();
+        steady(new ResizingQueue<>(), values, STEADY_OPS);
+        plain = (double) (System.nanoTime() - start) / STEADY_OPS;
+        steady(new MaskedResizingQueue<>(), values, STEADY_OPS / 4);
+        start = System.nanoTime();
+        steady(new MaskedResizingQueue<>(), values, STEADY_OPS);
+        masked = (double) (System.nanoTime() - start) / STEADY_OPS;
+        printRow("固定长度 " + STEADY_SIZE, plain, masked);
+
+        ops = (long) CHURN_ROUNDS * CHURN_SIZE * 2;
+        churn(new ResizingQueue<>(), values, CHURN_ROUNDS / 4);
+        start = System.nanoTime();
+        churn(new ResizingQueue<>(), values, CHURN_ROUNDS);
+        plain = (double) (System.nanoTime() - start) / ops;
+        churn(new MaskedResizingQueue<>(), values, CHURN_ROUNDS / 4);
+        start = System.nanoTime();
+        churn(new MaskedResizingQueue<>(), values, CHURN_ROUNDS);
+        masked = (double) (System.nanoTime() - start) / ops;
+        printRow("装满再倒空 " + CHURN_SIZE, plain, masked);
+    }
+
+    private static void printRow(String name, double plain, double masked) {
+        System.out.println(String.format("%-24s%18.2f%22.2f", name, plain, masked));
+    }
+
+    // 读入测试文件的全部命令（格式见 ResizingQueueTest.processCommand），忽略其他符号
+    private static int[] readCommands(String testName) {
+        String path = FileImt.getDataFilePath(testName);
+        ArrayList<Integer> commands = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(path))) {
+            while (scanner.hasNext()) {
+                String command = scanner.next();
+                if (command.equals("-")) {
+                    commands.add(DEQUEUE);
+                } else if (command.equals("?")) {
+                    commands.add(QUERY);
+                } else {
+                    try {
+                        commands.add(Integer.parseInt(command));
+                    } catch (NumberFormatException e) {
+                        // 非整数且非特殊符号，忽略
+                    }
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+        return commands.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // 回放一遍，把每个 '?' 的输出拼接起来（与结果文件的内容一致）
+    private static String replayOutput(ResizingQueue<Integer> queue, int[] commands, Integer[] values) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < commands.length; i++) {
+            if (commands[i] == DEQUEUE) {
+                queue.dequeue();
+            } else if (commands[i] == QUERY) {
+                out.append(queue).append('\n');
+            } else {
+                queue.enqueue(values[i]);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String replayOutput(MaskedResizingQueue<Integer> queue, int[] commands, Integer[] values) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < commands.length; i++) {
+            if (commands[i] == DEQUEUE) {
+                queue.dequeue();
+            } else if (commands[i] == QUERY) {
+                out.append(queue).append('\n');
+            } else {
+                queue.enqueue(values[i]);
+            }
+        }
+        return out.toString();
+    }
+
+    // 计时用的回放：'?' 只读 size()，不计 toString 的耗时
+    private static int replay(ResizingQueue<Integer> queue, int[] commands, Integer[] values, int rounds) {
+        int sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < commands.length; i++) {
+                if (commands[i] == DEQUEUE) {
+                    queue.dequeue();
+                } else if (commands[i] == QUERY) {
+                    sink += queue.size();
+                } else {
+                    queue.enqueue(values[i]);
+                }
+            }
+        }
+        return sink;
+    }
+
+    private static int replay(MaskedResizingQueue<Integer> queue, int[] commands, Integer[] values, int rounds) {
+        int sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < commands.length; i++) {
+                if (commands[i] == DEQUEUE) {
+                    queue.dequeue();
+                } else if (commands[i] == QUERY) {
+                    sink += queue.size();
+                } else {
+                    queue.enqueue(values[i]);
+                }
+            }
+        }
+        return sink;
+    }
+
+    // 先入队 STEADY_SIZE 个元素，之后每次 "入队一个 + 出队一个"，长度不变、不触发 resize
+    private static int steady(ResizingQueue<Integer> queue, Integer[] values, int ops) {
+        for (int i = 0; i < STEADY_SIZE; i++) {
+            queue.enqueue(values[i % values.length]);
+        }
+        int sink = 0;
+        for (int i = 0; i < ops; i++) {
+            queue.enqueue(values[i % values.length]);
+            sink += queue.dequeue();
+        }
+        return sink;
+    }
+
+    private static int steady(MaskedResizingQueue<Integer> queue, Integer[] values, int ops) {
+        for (int i = 0; i < STEADY_SIZE; i++) {
+            queue.enqueue(values[i % values.length]);
+        }
+        int sink = 0;
+        for (int i = 0; i < ops; i++) {
+            queue.enqueue(values[i % values.length]);
+            sink += queue.dequeue();
+        }
+        return sink;
+    }
+
+    // 每轮入队 CHURN_SIZE 个元素再全部出队，容量从 2 翻倍到 CHURN_SIZE 再减半回 2，耗时以 resize 为主
+    private static int churn(ResizingQueue<Integer> queue, Integer[] values, int rounds) {
+        int sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < CHURN_SIZE; i++) {
+                queue.enqueue(values[i % values.length]);
+            }
+            while (!queue.isEmpty()) {
+                sink += queue.dequeue();
+            }
+        }
+        return sink;
+    }
+
+    private static int churn(MaskedResizingQueue<Integer> queue, Integer[] values, int rounds) {
+        int sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < CHURN_SIZE; i++) {
+                queue.enqueue(values[i % values.length]);
+            }
+            while (!queue.isEmpty()) {
+                sink += queue.dequeue();
+            }
+        }
+        return sink;
+    }
+
+    /**
+     * 生产者按顺序交出 HANDOFF_COUNT 个（事先装箱的）元素，消费者全部取出并求和校验。
+     * 队列满或空时调用 Thread.yield()，单核机器上也能让对方线程运行。
+     * 输出每秒交接的元素个数（百万），以及生产者与消费者线程合计平均每次交接分配的字节数。
+     */
+    private static void spsc() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== spsc: 单生产者/单消费者交接 " + HANDOFF_COUNT + " 个元素，CPU 核数 " + cores + " ===");
+        System.out.println(String.format("%-28s%14s%16s", "实现", "百万次/秒", "字节/次"));
+        Integer[] values = new Integer[HANDOFF_CAPACITY];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        for (int warmup = 0; warmup < 2; warmup++) {
+            boolean print = (warmup == 1);
+
+            SpscRingQueue<Integer> ring = new SpscRingQueue<>(HANDOFF_CAPACITY);
+            handoff(print, "SpscRingQueue offer/poll", values, () -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    while (!ring.offer(values[i & (values.length - 1)])) {
+                        Thread.yield();
+                    }
+                }
+            }, sum -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    Integer element;
+                    while ((element = ring.poll()) == null) {
+                        Thread.yield();
+                    }
+                    sum[0] += element;
+                }
+            });
+
+            SpscRingQueue<Integer> batched = new SpscRingQueue<>(HANDOFF_CAPACITY);
+            handoff(print, "SpscRingQueue 批量 " + HANDOFF_BATCH, values, () -> {
+                for (int i = 0; i < HANDOFF_COUNT; ) {
+                    int from = i & (values.length - 1);
+                    int n = batched.offer(values, from, Math.min(HANDOFF_BATCH, Math.min(values.length - from, HANDOFF_COUNT - i)));
+                    if (n == 0) {
+                        Thread.yield();
+                    }
+                    i += n;
+                }
+            }, sum -> {
+                Consumer<Integer> adder = element -> sum[0] += element;
+                for (int i = 0; i < HANDOFF_COUNT; ) {
+                    int n = batched.drain(adder, HANDOFF_BATCH);
+                    if (n == 0) {
+                        Thread.yield();
+                    }
+                    i += n;
+                }
+            });
+
+            ResizingQueue<Integer> locked = new ResizingQueue<>();
+            handoff(print, "synchronized ResizingQueue", values, () -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    while (true) {
+                        synchronized (locked) {
+                            if (locked.size() < HANDOFF_CAPACITY) {
+                                locked.enqueue(values[i & (values.length - 1)]);
+                                break;
+                            }
+                        }
+                        Thread.yield();
+                    }
+                }
+            }, sum -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    Integer element;
+                    while (true) {
+                        synchronized (locked) {
+                            element = locked.dequeue();
+                        }
+                        if (element != null) {
+                            break;
+                        }
+                        Thread.yield();
+                    }
+                    sum[0] += element;
+                }
+            });
+
+            ArrayBlockingQueue<Integer> blocking = new ArrayBlockingQueue<>(HANDOFF_CAPACITY);
+            handoff(print, "ArrayBlockingQueue", values, () -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    while (!blocking.offer(values[i & (values.length - 1)])) {
+                        Thread.yield();
+                    }
+                }
+            }, sum -> {
+                for (int i = 0; i < HANDOFF_COUNT; i++) {
+                    Integer element;
+                    while ((element = blocking.poll()) == null) {
+                        Thread.yield();
+                    }
+                    sum[0] += element;
+                }
+            });
+        }
+    }
+
+    // 在两个线程中分别运行 producer 与 consumer，consumer 把取出的元素累加到 sum[0]；print 为 false 时只作预热
+    private static void handoff(boolean print, String name, Integer[] values, Runnable producer, Consumer<long[]> consumer) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicLong allocated = new AtomicLong();
+        long[] sum = new long[1];
+        Thread producerThread = new Thread(() -> {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            producer.run();
+            allocated.addAndGet(threads.getCurrentThreadAllocatedBytes() - before);
+        });
+        Thread consumerThread = new Thread(() -> {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            consumer.accept(sum);
+            allocated.addAndGet(threads.getCurrentThreadAllocatedBytes() - before);
+        });
+        long start = System.nanoTime();
+        producerThread.start();
+        consumerThread.start();
+        try {
+            producerThread.join();
+            consumerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long rounds = HANDOFF_COUNT / values.length;
+        long rest = HANDOFF_COUNT % values.length;
+        long expected = rounds * values.length * (values.length - 1) / 2 + rest * (rest - 1) / 2;
+        if (sum[0] != expected) {
+            throw new IllegalStateException(name + " 取出的元素之和不正确: " + sum[0] + " != " + expected);
+        }
+        if (print) {
+            System.out.println(String.format("%-28s%14.1f%16.2f", name,
+                    HANDOFF_COUNT / (elapsed / 1e3), (double) allocated.get() / HANDOFF_COUNT));
+        }
+    }
+
+    // mpmc、latency 套件中参与对比的队列的入队/出队操作
+    private interface SharedQueue {
+        void enqueue(Integer element);
+
+        Integer dequeue();
+    }
+
+    /**
+     * 每个线程循环执行 "入队 CONTENTION_BURST 个元素 + 出队 CONTENTION_BURST 次"，队列长度随之起伏，
+     * 加锁的 ResizingQueue 会不断扩容/缩容。每个配置先预热，再测量 CONTENTION_RUNS 次，
+     * 输出所有线程合计每毫秒完成的入队与出队次数（取各次测量的中位数）。
+     */
+    private static void mpmc() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== mpmc: 多线程共用队列的吞吐量 (入队+出队 次/毫秒)，CPU 核数 " + cores + " ===");
+        System.out.println(String.format("%-8s%16s%24s%24s", "线程", "synchronized", "ConcurrentLinkedQueue", "ConcurrentSegmentQueue"));
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            ResizingQueue<Integer> resizing = new ResizingQueue<>();
+            SharedQueue locked = new SharedQueue() {
+                @Override
+                public void enqueue(Integer element) {
+                    synchronized (resizing) {
+                        resizing.enqueue(element);
+                    }
+                }
+
+                @Override
+                public Integer dequeue() {
+                    synchronized (resizing) {
+                        return resizing.dequeue();
+                    }
+                }
+            };
+            ConcurrentLinkedQueue<Integer> linked = new ConcurrentLinkedQueue<>();
+            SharedQueue lockFree = new SharedQueue() {
+                @Override
+                public void enqueue(Integer element) {
+                    linked.offer(element);
+                }
+
+                @Override
+                public Integer dequeue() {
+                    return linked.poll();
+                }
+            };
+            ConcurrentSegmentQueue<Integer> segmented = new ConcurrentSegmentQueue<>();
+            SharedQueue segments = new SharedQueue() {
+                @Override
+                public void enqueue(Integer element) {
+                    segmented.enqueue(element);
+                }
+
+                @Override
+                public Integer dequeue() {
+                    return segmented.dequeue();
+                }
+            };
+            System.out.println(String.format("%-8d%16.1f%24.1f%24.1f", threads,
+                    contention(locked, threads), contention(lockFree, threads), contention(segments, threads)));
+        }
+    }
+
+    private static double contention(SharedQueue queue, int threads) {
+        contentionRun(queue, threads, CONTENTION_WARMUP_MILLIS);
+        double[] results = new double[CONTENTION_RUNS];
+        for (int run = 0; run < CONTENTION_RUNS; run++) {
+            results[run] = contentionRun(queue, threads, CONTENTION_MILLIS);
+        }
+        Arrays.sort(results);
+        return results[CONTENTION_RUNS / 2];
+    }
+
+    private static double contentionRun(SharedQueue queue, int threads, int millis) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Integer element = t;
+            workers[t] = new Thread(() -> {
+                long done = 0;
+                while (running.get()) {
+                    for (int i = 0; i < CONTENTION_BURST; i++) {
+                        queue.enqueue(element);
+                    }
+                    for (int i = 0; i < CONTENTION_BURST; i++) {
+                        queue.dequeue();
+                    }
+                    done += 2 * CONTENTION_BURST;
+                }
+                operations.add(done);
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        long start = System.nanoTime();
+        LockSupport.parkNanos(millis * 1_000_000L);
+        running.set(false);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+        return operations.sum() / ((System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * 用 System.nanoTime() 逐个记录单次操作的耗时（包括一次 nanoTime 调用的开销），输出各分位数与最大值（纳秒）。
+     * ResizingQueue 扩容时一次拷贝全部元素，元素越多，触发扩容的那次 enqueue 越慢；
+     * SegmentedQueue 的单次操作最多链接或摘下一个块。最大值还包括 GC 停顿与线程调度的干扰，不够稳定，
+     * 所以另外输出超过 SLOW_OPERATION_NANOS 的操作个数（拷贝数万个元素的扩容会超过它），最后一列为测量期间的 GC 次数。
+     */
+    private static void latency() {
+        System.out.println("=== latency: 单次 enqueue/dequeue 的耗时分布 (ns) ===");
+        int[] commands = readCommands("test5000.txt");
+        Integer[] values = new Integer[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            values[i] = Math.max(commands[i], 0);
+        }
+        String[] names = {"ResizingQueue", "MaskedResizingQueue", "SegmentedQueue"};
+        for (int workload = 0; workload < 2; workload++) {
+            System.out.println((workload == 0) ? "-- 回放 test5000.txt " + LATENCY_REPLAY_ROUNDS + " 遍"
+                    : "-- 增长到 " + LATENCY_SIZE + " 个元素再取空，" + LATENCY_ROUNDS + " 轮");
+            System.out.println(String.format("%-22s%10s%10s%10s%10s%12s%10s%6s",
+                    "实现", "p50", "p99", "p99.9", "p99.99", "max", ">100us", "GC"));
+            for (String name : names) {
+                long[] latencies = new long[(workload == 0)
+                        ? LATENCY_REPLAY_ROUNDS * commands.length : LATENCY_ROUNDS * 2 * LATENCY_SIZE];
+                for (int warmup = 0; warmup < 2; warmup++) {
+                    SharedQueue queue = latencyQueue(name);
+                    long gcBefore = gcCount();
+                    int n = (workload == 0)
+                            ? replayLatencies(queue, commands, values, latencies)
+                            : growLatencies(queue, values, latencies);
+                    if (warmup == 1) {
+                        long gcs = gcCount() - gcBefore;
+                        Arrays.sort(latencies, 0, n);
+                        int slow = n - upperBound(latencies, n, SLOW_OPERATION_NANOS);
+                        System.out.println(String.format("%-22s%10d%10d%10d%10d%12d%10d%6d", name,
+                                latencies[(int) (n * 0.5)], latencies[(int) (n * 0.99)], latencies[(int) (n * 0.999)],
+                                latencies[(int) (n * 0.9999)], latencies[n - 1], slow, gcs));
+                    }
+                }
+            }
+        }
+    }
+
+    private static SharedQueue latencyQueue(String name) {
+        switch (name) {
+            case "ResizingQueue": {
+                ResizingQueue<Integer> queue = new ResizingQueue<>();
+                return new SharedQueue() {
+                    @Override
+                    public void enqueue(Integer element) {
+                        queue.enqueue(element);
+                    }
+
+                    @Override
+                    public Integer dequeue() {
+                        return queue.dequeue();
+                    }
+                };
+            }
+            case "MaskedResizingQueue": {
+                MaskedResizingQueue<Integer> queue = new MaskedResizingQueue<>();
+                return new SharedQueue() {
+                    @Override
+                    public void enqueue(Integer element) {
+                        queue.enqueue(element);
+                    }
+
+                    @Override
+                    public Integer dequeue() {
+                        return queue.dequeue();
+                    }
+                };
+            }
+            default: {
+                SegmentedQueue<Integer> queue = new SegmentedQueue<>();
+                return new SharedQueue() {
+                    @Override
+                    public void enqueue(Integer element) {
+                        queue.enqueue(element);
+                    }
+
+                    @Override
+                    public Integer dequeue() {
+                        return queue.dequeue();
+                    }
+                };
+            }
+        }
+    }
+
+    // 回放 test5000.txt 的入队/出队命令（跳过 '?'），返回记录的耗时个数
+    private static int replayLatencies(SharedQueue queue, int[] commands, Integer[] values, long[] latencies) {
+        int n = 0;
+        long last = System.nanoTime();
+        for (int round = 0; round < LATENCY_REPLAY_ROUNDS; round++) {
+            for (int i = 0; i < commands.length; i++) {
+                if (commands[i] == DEQUEUE) {
+                    queue.dequeue();
+                } else if (commands[i] == QUERY) {
+                    continue;
+                } else {
+                    queue.enqueue(values[i]);
+                }
+                long now = System.nanoTime();
+                latencies[n++] = now - last;
+                last = now;
+            }
+        }
+        return n;
+    }
+
+    // 每轮入队 LATENCY_SIZE 个元素再全部出队，返回记录的耗时个数
+    private static int growLatencies(SharedQueue queue, Integer[] values, long[] latencies) {
+        int n = 0;
+        long last = System.nanoTime();
+        for (int round = 0; round < LATENCY_ROUNDS; round++) {
+            for (int i = 0; i < LATENCY_SIZE; i++) {
+                queue.enqueue(values[i % values.length]);
+                long now = System.nanoTime();
+                latencies[n++] = now - last;
+                last = now;
+            }
+            for (int i = 0; i < LATENCY_SIZE; i++) {
+                queue.dequeue();
+                long now = System.nanoTime();
+                latencies[n++] = now - last;
+                last = now;
+            }
+        }
+        return n;
+    }
+
+    // 有序数组 a[0, n) 中第一个大于 key 的下标
+    private static int upperBound(long[] a, int n, long key) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (a[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // 所有垃圾收集器累计的收集次数
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -1,6 +1,11 @@
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * 基于循环数组的可动态调整空间大小的队列实现
  * 支持泛型
+ * 元素为 Character 或 Integer 时可以用 save/load 保存与恢复二进制快照（见 SnapshotFormat）
  */
 public class ResizingQueue<T> {
     private T[] array;          // 循环数组
@@ -120,6 +125,82 @@ public class ResizingQueue<T> {
         rear = size;  // rear 指向下一个插入位置
     }
     
+    /**
+     * 把队列写成二进制快照（见 SnapshotFormat），不关闭通道
+     * 快照记录容量 N 与队头下标，load 之后数组布局与保存时相同
+     * 
+     * @param channel 写入的通道
+     * @throws IOException 写入失败
+     * @throws UnsupportedOperationException 元素既不全是 Character 也不全是 Integer
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        int kind = elementKind();
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, kind, size, front, N, 0);
+        for (int i = 0; i < size; i++) {
+            T element = array[(front + i) % array.length];
+            if (kind == SnapshotFormat.CHARACTER_QUEUE) {
+                out.putChar((Character) element);
+            } else {
+                out.putInt((Integer) element);
+            }
+        }
+        out.finish();
+    }
+    
+    /**
+     * 从 save 写出的快照恢复一个队列，不关闭通道
+     * 
+     * @param channel 读取的通道
+     * @param type 元素类型，Character.class 或 Integer.class，必须与保存时的元素类型一致
+     * @return 恢复的队列
+     * @throws IOException 读取失败、数据不完整，或者不是该元素类型的队列快照
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResizingQueue<T> load(ReadableByteChannel channel, Class<T> type) throws IOException {
+        int kind;
+        if (type == Character.class) {
+            kind = SnapshotFormat.CHARACTER_QUEUE;
+        } else if (type == Integer.class) {
+            kind = SnapshotFormat.INTEGER_QUEUE;
+        } else {
+            throw new IllegalArgumentException("只支持 Character 或 Integer 类型的元素");
+        }
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel,
+                SnapshotFormat.CHARACTER_QUEUE, SnapshotFormat.INTEGER_QUEUE);
+        if (in.kind() != kind && in.count() > 0) {
+            throw new IOException("快照中的元素类型与 " + type.getSimpleName() + " 不符");
+        }
+        ResizingQueue<T> queue = new ResizingQueue<>();
+        queue.N = in.capacity();
+        queue.array = (T[]) new Object[queue.N];
+        queue.front = in.cursor();
+        queue.size = in.count();
+        for (int i = 0; i < queue.size; i++) {
+            Object element = (kind == SnapshotFormat.CHARACTER_QUEUE) ? (Object) in.getChar() : (Object) in.getInt();
+            queue.array[(queue.front + i) % queue.N] = (T) element;
+        }
+        queue.rear = (queue.front + queue.size) % queue.N;
+        return queue;
+    }
+    
+    // 辅助方法：按元素的实际类型决定快照类型（空队列按 Character 保存，load 时任一类型都可以读取）
+    private int elementKind() {
+        boolean characters = true;
+        boolean integers = true;
+        for (int i = 0; i < size; i++) {
+            T element = array[(front + i) % array.length];
+            characters &= element instanceof Character;
+            integers &= element instanceof Integer;
+        }
+        if (characters) {
+            return SnapshotFormat.CHARACTER_QUEUE;
+        }
+        if (integers) {
+            return SnapshotFormat.INTEGER_QUEUE;
+        }
+        throw new UnsupportedOperationException("只能保存元素全部为 Character 或全部为 Integer 的队列");
+    }
+    
     /**
      * 将当前队列中的元素转换为字符串
      * 格式：从队头到队尾的元素序列
@@ -11,7 +11,9 @@ public class ResizingQueueTest {
         System.out.println("=== ResizingQueue 测试运行器 ===");
         System.out.println("1. test1000.txt");
         System.out.println("2. test5000.txt");
-        System.out.print("请选择测试文件 (1-2): ");
+        System.out.println("3. test1000.txt（IntResizingQueue，不装箱）");
+        System.out.println("4. test5000.txt（IntResizingQueue，不装箱）");
+        System.out.print("请选择测试文件 (1-4): ");
         String choiceName = "";
         String outPutName = "";
         String resultName = "";
@@ -32,6 +34,20 @@ public class ResizingQueueTest {
                     ResizingQueue<Integer> queue = new ResizingQueue<>();
                     FileImt.runTests("循环队列", "test5000.txt", queue);
                 }
+                case 3 -> {
+                    choiceName = "test1000.txt";
+                    outPutName = "test1000_result.txt";
+                    resultName = "result1000.txt";
+                    IntResizingQueue queue = new IntResizingQueue();
+                    FileImt.runTests("int循环队列", "test1000.txt", queue);
+                }
+                case 4 -> {
+                    choiceName = "test5000.txt";
+                    outPutName = "test5000_result.txt";
+                    resultName = "result5000.txt";
+                    IntResizingQueue queue = new IntResizingQueue();
+                    FileImt.runTests("int循环队列", "test5000.txt", queue);
+                }
                 default -> System.out.println("无效选择！");
             }
         }
@@ -78,6 +94,29 @@ public class ResizingQueueTest {
         return null;
     }
 
+    /**
+     * processCommand 的 IntResizingQueue 版本，命令含义相同；空队列上的 '-' 同样被忽略
+     */
+    public static String processCommand(IntResizingQueue queue, String command) {
+        if (command == null || command.isEmpty()) return null;
+        if ("-".equals(command)) {
+            if (!queue.isEmpty()) {
+                queue.dequeue();
+            }
+            return null;
+        }
+        if ("?".equals(command)) {
+            return queue.toString();
+        }
+
+        try {
+            queue.enqueue(Integer.parseInt(command));
+        } catch (NumberFormatException e) {
+            // 非整数且非特殊符号，忽略
+        }
+        return null;
+    }
+
     /**
      * 比较两个文件的内容是否完全相同（按行比较，区分大小写，行尾差异视为不同）
      * 如果任何一行不同或读取出现错误则返回 false
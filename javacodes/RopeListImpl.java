@@ -0,0 +1,664 @@
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * 基于 Rope（分块字符数组 + 平衡树）的List实现，适合很长的字符序列
+ * 数据类型：Character
+ *
+ * 字符存放在定长 char[] 块中，块按顺序挂在一棵隐式 Treap 上，每个节点记录子树内的字符总数。
+ * - 光标用 (所在块, 块内偏移, 绝对位置) 表示，gotoNext/gotoPrev 通常只在块内移动，O(1)
+ * - 光标处插入/删除只移动块内字符，并沿父指针更新字符总数，O(块大小 + log n)
+ * - load 可以直接把 CharSequence 或文件按块装入，不为每个字符分配节点
+ * - showStructure 按块批量写入 PrintWriter
+ */
+public class RopeListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int CHUNK_CAPACITY = 1024;            // 每块最多容纳的字符数
+    private static final int LOAD_FILL = CHUNK_CAPACITY * 3 / 4; // 批量装入时每块的填充量，给后续插入留余地
+    private static final int MERGE_THRESHOLD = CHUNK_CAPACITY / 4;
+
+    // 块节点
+    private static class Chunk {
+        final char[] chars = new char[CHUNK_CAPACITY];
+        int length;     // 本块字符数
+        int total;      // 子树内字符总数
+        int priority;
+        Chunk left;
+        Chunk right;
+        Chunk parent;
+    }
+
+    private Chunk root;
+    private Chunk cursorChunk;
+    private int cursorOffset;   // 光标在块内的偏移
+    private int cursorIndex;    // 光标的绝对位置，空列表时为-1
+    private int capacity;
+    private int seed = 0x2545F491; // xorshift 随机数种子，用于生成节点优先级
+
+    // split 的两个结果（避免为每次 split 分配数组）
+    private Chunk splitLeft;
+    private Chunk splitRight;
+
+    public RopeListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RopeListImpl(int capacity) {
+        this.capacity = capacity;
+        this.root = null;
+        this.cursorChunk = null;
+        this.cursorOffset = 0;
+        this.cursorIndex = -1;
+    }
+
+    /**
+     * 用 seq 的内容替换整个列表，光标移到开头（seq 为空时列表为空）
+     * 如果 seq 的长度超过容量，抛出 ListException，列表保持不变。
+     */
+    public void load(CharSequence seq) throws ListException {
+        if (seq.length() > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        clear();
+        int length = seq.length();
+        for (int start = 0; start < length; start += LOAD_FILL) {
+            Chunk chunk = newChunk();
+            int end = Math.min(length, start + LOAD_FILL);
+            if (seq instanceof String) {
+                ((String) seq).getChars(start, end, chunk.chars, 0);
+            } else {
+                for (int i = start; i < end; i++) {
+                    chunk.chars[i - start] = seq.charAt(i);
+                }
+            }
+            appendChunk(chunk, end - start);
+        }
+        gotoBeginning();
+    }
+
+    /**
+     * 从 reader 中读取全部字符替换整个列表，光标移到开头
+     * 读入的字符数超过容量时抛出 ListException，此时列表为空。
+     */
+    public void load(Reader reader) throws IOException, ListException {
+        clear();
+        Chunk chunk = newChunk();
+        int filled = 0;
+        int n;
+        while ((n = reader.read(chunk.chars, filled, LOAD_FILL - filled)) != -1) {
+            filled += n;
+            if (getSize() + filled > capacity) {
+                clear();
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (filled == LOAD_FILL) {
+                appendChunk(chunk, filled);
+                chunk = newChunk();
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            appendChunk(chunk, filled);
+        }
+        gotoBeginning();
+    }
+
+    /**
+     * 从文件中装入全部字符（使用平台默认字符集），光标移到开头
+     */
+    public void loadFile(String path) throws IOException, ListException {
+        try (Reader reader = new FileReader(path)) {
+            load(reader);
+        }
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        if (isEmpty()) {
+            // 空列表，插入第一个元素
+            appendSingle(newElement);
+            cursorIndex = 0;
+        } else {
+            // 在光标位置后插入元素（块内偏移 cursorOffset + 1 可能等于块长，即块尾追加）
+            insertIntoChunk(cursorChunk, cursorOffset + 1, newElement);
+            cursorIndex++;
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        deleteAtCursor();
+        if (isEmpty()) {
+            cursorChunk = null; // 列表变空
+            cursorOffset = 0;
+            cursorIndex = -1;
+        } else if (cursorIndex >= getSize()) {
+            gotoBeginning(); // 删除的是最后一个元素，光标移到开头
+        }
+        // 否则光标已指向原来的下一个元素
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null) {
+            return;
+        }
+
+        cursorChunk.chars[cursorOffset] = newElement;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        cursorChunk = null;
+        cursorOffset = 0;
+        cursorIndex = -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return getSize() >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursorChunk = leftmost(root);
+        cursorOffset = 0;
+        cursorIndex = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursorChunk = rightmost(root);
+        cursorOffset = cursorChunk.length - 1;
+        cursorIndex = getSize() - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty()) {
+            return false;
+        }
+        if (cursorOffset + 1 < cursorChunk.length) {
+            cursorOffset++;
+        } else {
+            Chunk next = successor(cursorChunk);
+            if (next == null) {
+                return false;
+            }
+            cursorChunk = next;
+            cursorOffset = 0;
+        }
+        cursorIndex++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty()) {
+            return false;
+        }
+        if (cursorOffset > 0) {
+            cursorOffset--;
+        } else {
+            Chunk prev = predecessor(cursorChunk);
+            if (prev == null) {
+                return false;
+            }
+            cursorChunk = prev;
+            cursorOffset = prev.length - 1;
+        }
+        cursorIndex--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return cursorChunk.chars[cursorOffset];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 按块输出：先把 "字符 空格" 填入缓冲区，再整体写出
+        char[] out = new char[CHUNK_CAPACITY * 2];
+        for (Chunk chunk = leftmost(root); chunk != null; chunk = successor(chunk)) {
+            for (int i = 0; i < chunk.length; i++) {
+                out[2 * i] = chunk.chars[i];
+                out[2 * i + 1] = ' ';
+            }
+            pw.write(out, 0, chunk.length * 2);
+        }
+        pw.println("{capacity = " + capacity + ", length = " + getSize() + ", cursor = " + cursorIndex + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= getSize()) {
+            return;
+        }
+
+        char element = cursorChunk.chars[cursorOffset];
+        deleteAtCursor();
+
+        // 在位置n插入元素：找到位置n所在的块（位于块尾时即追加到该块末尾）
+        if (isEmpty()) {
+            appendSingle(element);
+        } else {
+            Chunk chunk = root;
+            int offset = n;
+            while (true) {
+                int leftTotal = total(chunk.left);
+                if (offset < leftTotal) {
+                    chunk = chunk.left;
+                } else if (offset <= leftTotal + chunk.length) {
+                    offset -= leftTotal;
+                    break;
+                } else {
+                    offset -= leftTotal + chunk.length;
+                    chunk = chunk.right;
+                }
+            }
+            insertIntoChunk(chunk, offset, element);
+        }
+        cursorIndex = n;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始逐块搜索
+        char target = searchElement;
+        Chunk chunk = cursorChunk;
+        int offset = cursorOffset;
+        int index = cursorIndex;
+        while (true) {
+            char[] chars = chunk.chars;
+            for (int i = offset; i < chunk.length; i++) {
+                if (chars[i] == target) {
+                    cursorChunk = chunk;
+                    cursorOffset = i;
+                    cursorIndex = index + (i - offset);
+                    return true;
+                }
+            }
+            Chunk next = successor(chunk);
+            if (next == null) {
+                break;
+            }
+            index += chunk.length - offset;
+            chunk = next;
+            offset = 0;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        gotoEnd();
+        return false;
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return total(root);
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursorIndex;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 按块读取字符，trySplit 按子树字符总数定位中点所在的块，不移动光标
+        return new ChunkSpliterator(root, (root == null) ? null : leftmost(root), 0, 0, total(root));
+    }
+
+    // 按顺序读取位置在 [index, fence) 内的字符
+    private static final class ChunkSpliterator implements Spliterator.OfInt {
+        private final Chunk root;
+        private Chunk chunk;        // 位置 index 所在的块，区间为空时无意义
+        private int offset;         // 位置 index 在块内的偏移
+        private int index;
+        private final int fence;
+
+        ChunkSpliterator(Chunk root, Chunk chunk, int offset, int index, int fence) {
+            this.root = root;
+            this.chunk = chunk;
+            this.offset = offset;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            // 前一半交给新的 Spliterator，本对象从位置 mid 所在的块继续
+            ChunkSpliterator prefix = new ChunkSpliterator(root, chunk, offset, index, mid);
+            Chunk t = root;
+            int k = mid;
+            while (true) {
+                int leftTotal = total(t.left);
+                if (k < leftTotal) {
+                    t = t.left;
+                } else if (k < leftTotal + t.length) {
+                    k -= leftTotal;
+                    break;
+                } else {
+                    k -= leftTotal + t.length;
+                    t = t.right;
+                }
+            }
+            chunk = t;
+            offset = k;
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            skipExhausted();
+            action.accept(chunk.chars[offset++]);
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (index < fence) {
+                skipExhausted();
+                int n = Math.min(chunk.length - offset, fence - index);
+                char[] chars = chunk.chars;
+                for (int i = 0; i < n; i++) {
+                    action.accept(chars[offset + i]);
+                }
+                offset += n;
+                index += n;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        // 当前块已读完时移到下一个块（调用者保证还有剩余字符）
+        private void skipExhausted() {
+            while (offset >= chunk.length) {
+                chunk = successor(chunk);
+                offset = 0;
+            }
+        }
+    }
+
+    // ---------------- 块内编辑 ----------------
+
+    // 在块 chunk 的 offset 处插入字符 c，块满时先对半拆分；完成后光标指向 c（cursorIndex 由调用者维护）
+    private void insertIntoChunk(Chunk chunk, int offset, char c) {
+        if (chunk.length == CHUNK_CAPACITY) {
+            int half = CHUNK_CAPACITY / 2;
+            Chunk second = newChunk();
+            System.arraycopy(chunk.chars, half, second.chars, 0, CHUNK_CAPACITY - half);
+            chunk.length = half;
+            adjustTotals(chunk, -(CHUNK_CAPACITY - half));
+            insertChunkAfter(chunk, second, CHUNK_CAPACITY - half);
+            if (offset > half) {
+                chunk = second;
+                offset -= half;
+            }
+        }
+        System.arraycopy(chunk.chars, offset, chunk.chars, offset + 1, chunk.length - offset);
+        chunk.chars[offset] = c;
+        chunk.length++;
+        adjustTotals(chunk, 1);
+        cursorChunk = chunk;
+        cursorOffset = offset;
+    }
+
+    // 空列表时插入第一个字符
+    private void appendSingle(char c) {
+        Chunk chunk = newChunk();
+        chunk.chars[0] = c;
+        appendChunk(chunk, 1);
+        cursorChunk = chunk;
+        cursorOffset = 0;
+    }
+
+    // 删除光标处的字符，光标（块、偏移）移到原来的下一个字符；块的最后一个字符被删除时整块摘除，块过小时与后继块合并
+    private void deleteAtCursor() {
+        Chunk chunk = cursorChunk;
+        int offset = cursorOffset;
+        Chunk next = successor(chunk);
+        if (chunk.length == 1) {
+            removeChunk(chunk);
+            cursorChunk = next;
+            cursorOffset = 0;
+            return;
+        }
+
+        System.arraycopy(chunk.chars, offset + 1, chunk.chars, offset, chunk.length - offset - 1);
+        chunk.length--;
+        adjustTotals(chunk, -1);
+        if (next != null && chunk.length < MERGE_THRESHOLD && chunk.length + next.length <= CHUNK_CAPACITY) {
+            // 把后继块并入当前块
+            System.arraycopy(next.chars, 0, chunk.chars, chunk.length, next.length);
+            int moved = next.length;
+            removeChunk(next);
+            chunk.length += moved;
+            adjustTotals(chunk, moved);
+        }
+        if (offset < chunk.length) {
+            cursorChunk = chunk;
+            cursorOffset = offset;
+        } else {
+            cursorChunk = successor(chunk);
+            cursorOffset = 0;
+        }
+    }
+
+    // ---------------- Treap 基本操作（按字符数划分，拆分点总在块边界上） ----------------
+
+    private Chunk newChunk() {
+        Chunk chunk = new Chunk();
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        chunk.priority = seed;
+        return chunk;
+    }
+
+    private static int total(Chunk t) {
+        return (t == null) ? 0 : t.total;
+    }
+
+    private static void update(Chunk t) {
+        t.total = t.length + total(t.left) + total(t.right);
+        if (t.left != null) {
+            t.left.parent = t;
+        }
+        if (t.right != null) {
+            t.right.parent = t;
+        }
+    }
+
+    // 块内字符数变化后，沿父指针更新字符总数
+    private static void adjustTotals(Chunk chunk, int delta) {
+        for (Chunk t = chunk; t != null; t = t.parent) {
+            t.total += delta;
+        }
+    }
+
+    private static Chunk merge(Chunk a, Chunk b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    // 按字符数拆分：前 k 个字符所在的块放入 splitLeft，其余放入 splitRight（k 必须落在块边界上）
+    private void split(Chunk t, int k) {
+        if (t == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int leftTotal = total(t.left);
+        if (leftTotal >= k) {
+            split(t.left, k);
+            t.left = splitRight;
+            update(t);
+            splitRight = t;
+        } else {
+            split(t.right, k - leftTotal - t.length);
+            t.right = splitLeft;
+            update(t);
+            splitLeft = t;
+        }
+    }
+
+    // 把块追加到末尾（length 为块内已有的字符数，必须大于0）
+    private void appendChunk(Chunk chunk, int length) {
+        chunk.length = length;
+        chunk.total = length;
+        root = merge(root, chunk);
+        root.parent = null;
+    }
+
+    // 把新块插入到 chunk 之后
+    private void insertChunkAfter(Chunk chunk, Chunk added, int length) {
+        added.length = length;
+        added.total = length;
+        split(root, offsetOf(chunk) + chunk.length);
+        Chunk left = splitLeft;
+        Chunk right = splitRight;
+        detach(left);
+        detach(right);
+        root = merge(merge(left, added), right);
+        root.parent = null;
+    }
+
+    // 从树中摘除一个块（块内字符随块一起丢弃，或已由调用者拷贝到别处）
+    private void removeChunk(Chunk chunk) {
+        split(root, offsetOf(chunk));
+        Chunk left = splitLeft;
+        split(splitRight, chunk.length);
+        Chunk right = splitRight;
+        detach(left);
+        detach(right);
+        root = merge(left, right);
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    private static void detach(Chunk t) {
+        if (t != null) {
+            t.parent = null;
+        }
+    }
+
+    // 块的起始字符位置
+    private static int offsetOf(Chunk chunk) {
+        int r = total(chunk.left);
+        while (chunk.parent != null) {
+            if (chunk == chunk.parent.right) {
+                r += total(chunk.parent.left) + chunk.parent.length;
+            }
+            chunk = chunk.parent;
+        }
+        return r;
+    }
+
+    private static Chunk leftmost(Chunk t) {
+        while (t.left != null) {
+            t = t.left;
+        }
+        return t;
+    }
+
+    private static Chunk rightmost(Chunk t) {
+        while (t.right != null) {
+            t = t.right;
+        }
+        return t;
+    }
+
+    private static Chunk successor(Chunk chunk) {
+        if (chunk.right != null) {
+            return leftmost(chunk.right);
+        }
+        while (chunk.parent != null && chunk == chunk.parent.right) {
+            chunk = chunk.parent;
+        }
+        return chunk.parent;
+    }
+
+    private static Chunk predecessor(Chunk chunk) {
+        if (chunk.left != null) {
+            return rightmost(chunk.left);
+        }
+        while (chunk.parent != null && chunk == chunk.parent.left) {
+            chunk = chunk.parent;
+        }
+        return chunk.parent;
+    }
+}
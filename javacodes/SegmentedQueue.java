@@ -0,0 +1,213 @@
+/**
+ * 由固定大小的数组块（chunk）链接而成的队列
+ * ResizingQueue 每次扩容都要把全部元素拷贝到新数组，队列很大时单次 enqueue 可能耗时很长；
+ * 这里空间不够时只在队尾链接一个新块，队头的块取空后摘下放回一个小的块池，供之后的扩容复用，
+ * 所以扩容、缩容都是 O(1)，单次操作的最坏耗时有上界（池为空时分配一个 chunkSize 大小的数组）。
+ *
+ * 与 ResizingQueue 相同，dequeue 在空队列上返回 null；容量以块为单位报告（chunkCount/capacity），
+ * toString 的元素部分与 ResizingQueue 相同，第二行为 "elements: n chunks:k"。
+ */
+public class SegmentedQueue<T> {
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+    private static final int DEFAULT_POOL_LIMIT = 4;
+
+    // 块：elements 中 [headIndex, tailIndex) 只在头块/尾块上有意义
+    private static final class Chunk {
+        final Object[] elements;
+        Chunk next;
+
+        Chunk(int size) {
+            elements = new Object[size];
+        }
+    }
+
+    private final int chunkSize;
+    private final int poolLimit;    // 池中最多保留的空块个数
+    private Chunk head;             // 队头所在的块
+    private Chunk tail;             // 队尾所在的块
+    private int headIndex;          // 队头元素在头块中的下标
+    private int tailIndex;          // 下一个元素在尾块中的位置
+    private int size;               // 当前队列中的实际元素个数
+    private int chunks;             // 链中的块数
+    private Chunk pool;             // 空块池（单链表）
+    private int pooled;             // 池中的块数
+
+    /**
+     * 构造方法：块大小 DEFAULT_CHUNK_SIZE，池中最多保留 DEFAULT_POOL_LIMIT 个空块
+     */
+    public SegmentedQueue() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_POOL_LIMIT);
+    }
+
+    /**
+     * @param chunkSize 每个块的槽位数
+     * @param poolLimit 池中最多保留的空块个数，0 表示不复用
+     * @throws IllegalArgumentException chunkSize 小于 1 或 poolLimit 小于 0
+     */
+    public SegmentedQueue(int chunkSize, int poolLimit) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("块大小必须为正数: " + chunkSize);
+        }
+        if (poolLimit < 0) {
+            throw new IllegalArgumentException("块池上限不能为负数: " + poolLimit);
+        }
+        this.chunkSize = chunkSize;
+        this.poolLimit = poolLimit;
+        head = new Chunk(chunkSize);
+        tail = head;
+        chunks = 1;
+    }
+
+    /**
+     * 将元素element入队，尾块满时链接一个新块（优先从池中取）
+     *
+     * @param element 要入队的元素
+     */
+    public void enqueue(T element) {
+        if (tailIndex == chunkSize) {
+            Chunk chunk = takeChunk();
+            tail.next = chunk;
+            tail = chunk;
+            tailIndex = 0;
+            chunks++;
+        }
+        tail.elements[tailIndex++] = element;
+        size++;
+    }
+
+    /**
+     * 将队头元素删除并返回，头块取空时摘下放回池中
+     *
+     * @return 队头元素，如果队列为空则返回null
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        if (isEmpty()) {
+            return null;
+        }
+        T element = (T) head.elements[headIndex];
+        head.elements[headIndex++] = null;  // 帮助垃圾回收
+        size--;
+        if (size == 0) {
+            // 队列空了（最后一个元素总在尾块中，此时 head == tail）：从块的开头重新使用
+            headIndex = 0;
+            tailIndex = 0;
+        } else if (headIndex == chunkSize) {
+            Chunk next = head.next;
+            recycle(head);
+            head = next;
+            headIndex = 0;
+        }
+        return element;
+    }
+
+    /**
+     * 返回当前队列中的实际元素个数
+     *
+     * @return 队列中的元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断队列是否为空
+     *
+     * @return 如果队列为空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 链中的块数（不包括池中的空块）
+     */
+    public int chunkCount() {
+        return chunks;
+    }
+
+    /**
+     * 当前容量：块数 * 块大小
+     */
+    public long capacity() {
+        return (long) chunks * chunkSize;
+    }
+
+    /**
+     * 池中的空块个数
+     */
+    public int pooledChunks() {
+        return pooled;
+    }
+
+    // 辅助方法：从池中取一个空块，池为空时分配
+    private Chunk takeChunk() {
+        if (pool == null) {
+            return new Chunk(chunkSize);
+        }
+        Chunk chunk = pool;
+        pool = chunk.next;
+        chunk.next = null;
+        pooled--;
+        return chunk;
+    }
+
+    // 辅助方法：把摘下的块（元素已经清空）放回池中，池满时丢弃
+    private void recycle(Chunk chunk) {
+        chunks--;
+        if (pooled < poolLimit) {
+            chunk.next = pool;
+            pool = chunk;
+            pooled++;
+        } else {
+            chunk.next = null;
+        }
+    }
+
+    // 辅助方法：第 i 个元素（0 为队头）
+    private Object elementAt(int i) {
+        int offset = headIndex + i;
+        Chunk chunk = head;
+        while (offset >= chunkSize) {
+            chunk = chunk.next;
+            offset -= chunkSize;
+        }
+        return chunk.elements[offset];
+    }
+
+    /**
+     * 将当前队列中的元素转换为字符串
+     * 元素部分的格式与 ResizingQueue 相同，第二行为元素数量与块数
+     *
+     * @return 队列元素的字符串表示
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        if (size <= 20) {
+            for (int i = 0; i < size; i++) {
+                sb.append(elementAt(i));
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        } else {
+            for (int i = 0; i < 5; i++) {
+                sb.append(elementAt(i));
+                sb.append(" ");
+            }
+            sb.append(" ... ");
+            for (int i = size - 5; i < size; i++) {
+                sb.append(elementAt(i));
+                if (i < size - 1) {
+                    sb.append(" ");
+                }
+            }
+        }
+        sb.append("]");
+        sb.append("\n");
+        sb.append("elements: " + size + " chunks:" + chunks);
+        return sb.toString();
+    }
+}
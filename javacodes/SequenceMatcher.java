@@ -0,0 +1,93 @@
+/**
+ * 字符序列的 KMP 匹配（供 CharList.findSequence 使用）
+ *
+ * 构造时为模式串计算失配表，之后可以：
+ * - 对数组区间直接查找（indexIn），未匹配任何字符时借助 CharScan 跳到下一个首字符出现的位置；
+ * - 逐个字符喂入（advance），用于只能顺序读取元素的链表，不需要把元素复制成 String。
+ * 每个元素只读一次，总耗时 O(n + m)，不会像逐个位置比较那样在 "aaaa...ab" 这类输入上退化为 O(n * m)。
+ */
+final class SequenceMatcher {
+
+    private final char[] pattern;
+    private final int[] failure;    // failure[i]：pattern[0..i] 最长的相同真前缀与真后缀的长度
+
+    SequenceMatcher(CharSequence sequence) {
+        int m = sequence.length();
+        pattern = new char[m];
+        for (int i = 0; i < m; i++) {
+            pattern[i] = sequence.charAt(i);
+        }
+        failure = new int[m];
+        for (int i = 1, k = 0; i < m; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = failure[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+    }
+
+    // 模式串的长度
+    int length() {
+        return pattern.length;
+    }
+
+    /**
+     * 已经匹配了前 matched 个字符（matched < length()）时读入 c，返回读入后匹配的字符数；
+     * 返回 length() 表示以 c 结尾的一次完整匹配
+     */
+    int advance(int matched, char c) {
+        while (matched > 0 && pattern[matched] != c) {
+            matched = failure[matched - 1];
+        }
+        return (pattern[matched] == c) ? matched + 1 : matched;
+    }
+
+    /**
+     * 在 a[from, to) 中查找第一次完整出现的起始下标，找不到返回 -1（模式串不能为空）
+     */
+    int indexIn(char[] a, int from, int to) {
+        int m = pattern.length;
+        int matched = 0;
+        for (int i = from; i < to; i++) {
+            if (matched == 0) {
+                // 批量跳到下一个首字符
+                i = CharScan.indexOf(a, i, to, pattern[0]);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+            matched = advance(matched, a[i]);
+            if (matched == m) {
+                return i - m + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * indexIn 的装箱数组版本（供 ArrayListImpl 使用）
+     */
+    int indexIn(Character[] a, int from, int to) {
+        int m = pattern.length;
+        char first = pattern[0];
+        int matched = 0;
+        for (int i = from; i < to; i++) {
+            if (matched == 0) {
+                // 逐个跳到下一个首字符，不进入 advance
+                while (a[i] != first) {
+                    if (++i == to) {
+                        return -1;
+                    }
+                }
+            }
+            matched = advance(matched, a[i]);
+            if (matched == m) {
+                return i - m + 1;
+            }
+        }
+        return -1;
+    }
+}
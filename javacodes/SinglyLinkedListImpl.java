@@ -1,16 +1,50 @@
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 
 /**
  * 基于单向链表的List实现
  * 数据类型：Character
+ *
+ * 除光标外还记录光标的前驱节点 prev 与光标位置 cursorPos，因此光标处删除为 O(1)。
+ * 可逆光标模式（reversibleCursor = true）下，光标之前的节点的 next 指针被反转为指向各自的前驱，
+ * prev 沿反转链即可一步步后退，gotoPrev 也是 O(1)；每个节点仍然只有一个指针。
+ * 代价是 gotoBeginning 需要把反转链翻回去，耗时与光标位置成正比。
+ *
+ * 可以通过 setIndexed(true) 打开字符索引（见 OccurrenceIndex），写多读少时应保持关闭（默认关闭）。
+ * 普通模式下命中的 find 直接把光标跳到目标节点，为 O(log n)；此时 prev 与 cursorPos 暂时未知，
+ * 等到下一次需要它们的操作时再从头节点补算。可逆模式下光标不能跳跃，find 仍要逐个节点走到目标，
+ * 索引只省去了比较。两种模式下未命中时都要走到尾节点。
+ *
+ * openCursor() 返回的游标直接指向节点，插入不影响它们；删除节点时把停在该节点上的游标移到后继，
+ * 代价与打开的游标数成正比。游标的 gotoPrev/gotoEnd 需要沿链查找，为 O(n)。有游标打开时 removeRange 逐个元素删除。
+ * 可逆模式下光标之前的链接是反转的，游标的 gotoNext/gotoPrev/gotoEnd/find 先把这一段临时翻回正向、
+ * 移动完再翻回去，每次多花与列表光标位置成正比的时间。
+ * clear 只把代数 epoch 加一，游标下次使用时发现代数不同才失效，因此 clear 的耗时与游标数无关。
+ *
+ * 可以通过 setPooled(true) 打开节点复用（默认关闭）：删除的节点进入本列表的空闲池，插入时优先从池中取，
+ * 池中最多保留 capacity 个节点。clear 不逐个断开节点，而是把整条链原样挂到池中（O(1)，可逆模式下
+ * 先把反转的前半段接到后半段上），之后插入时再从链上逐个取用；反复清空再填充的负载在稳定后几乎不再分配新节点。
+ *
+ * save/load 以二进制快照（见 SnapshotFormat）保存与恢复元素、光标、容量与是否为可逆模式；
+ * 索引、节点复用与打开的游标不保存。
  */
-public class SinglyLinkedListImpl implements List<Character> {
+public class SinglyLinkedListImpl implements CharList {
     private static final int DEFAULT_CAPACITY = 512;
+    private static final int UNLOCATED = -2;    // cursorPos 的特殊值：索引查找跳转后光标位置未知
+    private static final Node MOVING = new Node(null); // moveToNth 期间停在被移动节点上的游标暂时指向它
     
     // 单向链表节点
     private static class Node {
         Character data;
         Node next;
+        long label;     // 顺序标签，仅在打开索引时使用
         
         Node(Character data) {
             this.data = data;
@@ -20,17 +54,40 @@ public class SinglyLinkedListImpl implements List<Character> {
     
     private Node head;
     private Node cursor;
+    private Node prev;          // 光标的前驱节点，光标在头节点时为null
+    private int cursorPos;      // 光标位置，空列表时为-1，索引查找跳转后为 UNLOCATED
     private int size;
     private int capacity;
+    private final boolean reversible; // 可逆光标模式：光标之前的节点链接被反转
+    private OccurrenceIndex<Node> index; // 可选的字符索引，关闭时为null
+    
+    // 打开的附加游标（见 openCursor）
+    private Handle[] handles = new Handle[0];
+    private int handleCount;
+    private int epoch;          // clear 的次数，游标记录的代数与之不同时说明列表在此期间被清空过
+    
+    // 节点空闲池（见 setPooled）：若干条以 null 结尾、经由 next 相连的空闲节点链，pool[poolTop - 1] 是当前取用的一条。
+    // clear 放入的链不知道链尾，只能另起一条；其余情况把节点接到当前这条链的前面。节点的其余字段在取用时才重置
+    private boolean pooled;
+    private Node[] pool = new Node[0];
+    private int poolTop;
+    private int pooledCount;    // 池中节点总数，不超过 capacity
     
     public SinglyLinkedListImpl() {
         this(DEFAULT_CAPACITY);
     }
     
     public SinglyLinkedListImpl(int capacity) {
+        this(capacity, false);
+    }
+    
+    public SinglyLinkedListImpl(int capacity, boolean reversibleCursor) {
         this.capacity = capacity;
+        this.reversible = reversibleCursor;
         this.head = null;
         this.cursor = null;
+        this.prev = null;
+        this.cursorPos = -1;
         this.size = 0;
     }
     
@@ -44,57 +101,80 @@ public class SinglyLinkedListImpl implements List<Character> {
             throw new ListException("List is full, cannot insert new element");
         }
         
-        Node newNode = new Node(newElement);
+        Node newNode = newNode(newElement);
+        locateCursor();
         
         if (isEmpty()) {
             // 空列表，插入第一个元素
             head = newNode;
             cursor = newNode;
+            prev = null;
+            cursorPos = 0;
             size = 1;
-        } else if (cursor == null) {
-            // 光标为null，插入到头部
-            newNode.next = head;
-            head = newNode;
-            cursor = newNode;
-            size++;
         } else {
             // 在光标位置后插入元素
             newNode.next = cursor.next;
             cursor.next = newNode;
-            cursor = newNode; // 移动光标到新插入的元素
+            stepForward(); // 移动光标到新插入的元素
             size++;
         }
+        if (index != null) {
+            indexInserted();
+        }
     }
     
     @Override
     public void remove() {
+        Node removed = unlinkCursor();
+        if (pooled && removed != null) {
+            release(removed, removed, 1);
+        }
+    }
+    
+    // 辅助方法：删除光标处的节点并返回它（空列表时返回null），不放入空闲池（moveToNth 还要把它插回去）
+    private Node unlinkCursor() {
         if (isEmpty()) {
-            return; // 空列表，什么都不做
+            return null; // 空列表，什么都不做
+        }
+        locateCursor();
+        if (index != null) {
+            index.remove(cursor.data, cursor.label);
         }
+        Node removed = cursor;
         
-        if (cursor == head) {
-            // 删除头节点
-            head = head.next;
-            if (head == null) {
-                cursor = null; // 列表变空
-            } else {
-                cursor = head; // 光标移到新的头节点
+        Node next = cursor.next;
+        if (next != null) {
+            // 光标移到下一个节点，位置不变（可逆模式下 prev.next 指向更前的节点，无需修改）
+            if (prev == null) {
+                head = next;
+            } else if (!reversible) {
+                prev.next = next;
             }
+            cursor = next;
+        } else if (prev == null) {
+            // 删除唯一的节点，列表变空
+            head = null;
+            cursor = null;
+            cursorPos = -1;
         } else {
-            // 删除非头节点
-            Node prev = findPreviousNode(cursor);
-            if (prev != null) {
-                prev.next = cursor.next;
-                if (cursor.next == null) {
-                    // 删除的是最后一个节点，光标移到开头
-                    cursor = head;
-                } else {
-                    // 光标移到下一个节点
-                    cursor = cursor.next;
-                }
+            // 删除的是最后一个节点，光标移到开头
+            if (reversible) {
+                Node last = prev;
+                prev = last.next;
+                last.next = null;
+                cursor = last;
+                cursorPos--;
+                rewindToHead();
+            } else {
+                prev.next = null;
+                cursor = head;
+                prev = null;
+                cursorPos = 0;
             }
         }
         size--;
+        retargetHandles(removed, cursor);
+        return removed;
     }
     
     @Override
@@ -103,14 +183,33 @@ public class SinglyLinkedListImpl implements List<Character> {
             return;
         }
         
+        if (index != null) {
+            index.remove(cursor.data, cursor.label);
+            index.add(newElement, cursor.label, cursor);
+        }
         cursor.data = newElement;
     }
     
     @Override
     public void clear() {
+        if (index != null) {
+            index.clear();
+        }
+        if (pooled && head != null) {
+            // 整条链原样放入空闲池；可逆模式下反转的前半段以头节点结尾，把它接到光标上连成一条
+            Node first = head;
+            if (reversible && prev != null) {
+                head.next = cursor;
+                first = prev;
+            }
+            retire(first, size);
+        }
         head = null;
         cursor = null;
+        prev = null;
+        cursorPos = -1;
         size = 0;
+        epoch++;
     }
     
     @Override
@@ -128,7 +227,7 @@ public class SinglyLinkedListImpl implements List<Character> {
         if (isEmpty()) {
             return false;
         }
-        cursor = head;
+        rewindToHead();
         return true;
     }
     
@@ -138,11 +237,11 @@ public class SinglyLinkedListImpl implements List<Character> {
             return false;
         }
         
-        Node current = head;
-        while (current.next != null) {
-            current = current.next;
+        // 从光标向后走到最后一个节点
+        locateCursor();
+        while (cursor.next != null) {
+            stepForward();
         }
-        cursor = current;
         return true;
     }
     
@@ -151,22 +250,22 @@ public class SinglyLinkedListImpl implements List<Character> {
         if (isEmpty() || cursor == null || cursor.next == null) {
             return false;
         }
-        cursor = cursor.next;
+        locateCursor();
+        stepForward();
         return true;
     }
     
     @Override
     public boolean gotoPrev() {
-        if (isEmpty() || cursor == null || cursor == head) {
+        if (isEmpty() || cursor == null) {
             return false;
         }
-        
-        Node prev = findPreviousNode(cursor);
-        if (prev != null) {
-            cursor = prev;
-            return true;
+        locateCursor();
+        if (prev == null) {
+            return false;
         }
-        return false;
+        stepBack();
+        return true;
     }
     
     @Override
@@ -184,6 +283,10 @@ public class SinglyLinkedListImpl implements List<Character> {
             return;
         }
         
+        // 可逆模式下先把光标之前的反转链临时翻回正向，输出后再恢复
+        locateCursor();
+        boolean restore = straightenLinks();
+        
         // 输出所有元素
         Node current = head;
         while (current != null) {
@@ -191,9 +294,10 @@ public class SinglyLinkedListImpl implements List<Character> {
             current = current.next;
         }
         
-        // 计算光标位置
-        int cursorPos = getCursorPosition();
-        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursorPos + "}");
+        if (restore) {
+            restoreLinks();
+        }
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + getCursorPosition() + "}");
     }
     
     @Override
@@ -202,10 +306,12 @@ public class SinglyLinkedListImpl implements List<Character> {
             return;
         }
         
-        Character element = cursor.data;
+        Node node = cursor;
         
-        // 删除当前节点
-        remove();
+        // 删除当前节点（节点对象随后被重新插入）；停在它上面的游标先指向 MOVING，插入后再指回来
+        retargetHandles(node, MOVING);
+        unlinkCursor();
+        node.next = null;
         
         // 调整目标位置（因为删除了一个元素）
         if (n >= size) {
@@ -213,24 +319,28 @@ public class SinglyLinkedListImpl implements List<Character> {
         }
         
         // 在位置n插入元素
-        if (n == 0) {
+        if (n <= 0) {
             // 插入到头部
-            Node newNode = new Node(element);
-            newNode.next = head;
-            head = newNode;
-            cursor = newNode;
-        } else {
-            // 插入到中间或尾部
-            Node current = head;
-            for (int i = 0; i < n - 1; i++) {
-                current = current.next;
+            if (!isEmpty()) {
+                rewindToHead();
             }
-            Node newNode = new Node(element);
-            newNode.next = current.next;
-            current.next = newNode;
-            cursor = newNode;
+            node.next = head;
+            head = node;
+            cursor = node;
+            prev = null;
+            cursorPos = 0;
+        } else {
+            // 移动到第 n-1 个节点，插入到它之后
+            seek(n - 1);
+            node.next = cursor.next;
+            cursor.next = node;
+            stepForward();
         }
         size++;
+        if (index != null) {
+            indexInserted();
+        }
+        retargetHandles(MOVING, node);
     }
     
     @Override
@@ -239,21 +349,781 @@ public class SinglyLinkedListImpl implements List<Character> {
             return false;
         }
         
-        // 从光标位置开始搜索
+        if (index != null) {
+            // 在索引中取光标之后（含光标）的第一次出现
+            Map.Entry<Long, Node> hit = index.ceiling(searchElement, cursor.label);
+            if (hit == null) {
+                gotoEnd();
+                return false;
+            }
+            Node target = hit.getValue();
+            if (reversible) {
+                while (cursor != target) {
+                    stepForward();
+                }
+            } else if (cursor != target) {
+                cursor = target;
+                prev = null;
+                cursorPos = UNLOCATED;
+            }
+            return true;
+        }
+        
+        // 从光标位置开始搜索，如果没找到，光标停在最后一个元素
+        while (true) {
+            if (cursor.data.equals(searchElement)) {
+                return true;
+            }
+            if (cursor.next == null) {
+                return false;
+            }
+            stepForward();
+        }
+    }
+    
+    @Override
+    public boolean findSequence(CharSequence sequence) {
+        if (isEmpty() || sequence == null) {
+            return false;
+        }
+        if (sequence.length() == 0) {
+            return true;
+        }
+        locateCursor();
+        
+        // 沿链逐个节点喂给 KMP 匹配器；光标作为候选匹配的开头跟在后面（用 stepForward 移动，
+        // 可逆模式下顺便反转链接），候选开头只会向后移动，两个指针合计各走一遍
+        SequenceMatcher matcher = new SequenceMatcher(sequence);
+        int m = matcher.length();
+        int matched = 0;
+        int lag = 0;    // 当前节点与光标的距离
         Node current = cursor;
-        while (current != null) {
-            if (current.data.equals(searchElement)) {
-                cursor = current;
+        while (true) {
+            matched = matcher.advance(matched, current.data);
+            if (matched == m) {
+                for (; lag >= m; lag--) {
+                    stepForward();
+                }
                 return true;
             }
-            current = current.next;
+            Node next = current.next; // 先取后继：光标离开 current 时可逆模式会改写它的链接
+            if (next == null) {
+                break;
+            }
+            for (; lag >= matched; lag--) {
+                stepForward();
+            }
+            current = next;
+            lag++;
         }
         
         // 如果没找到，光标移到最后一个元素
-        gotoEnd();
+        while (cursor.next != null) {
+            stepForward();
+        }
         return false;
     }
     
+    @Override
+    public ListCursor<Character> openCursor() {
+        if (handleCount == handles.length) {
+            handles = Arrays.copyOf(handles, Math.max(4, 2 * handles.length));
+        }
+        Handle handle = new Handle(cursor, handleCount, epoch);
+        handles[handleCount++] = handle;
+        return handle;
+    }
+    
+    @Override
+    public void insertAll(CharSequence elements) throws ListException {
+        int count = elements.length();
+        if (count == 0) {
+            return;
+        }
+        if (size + count > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        if (index != null) {
+            CharList.super.insertAll(elements); // 容量已检查，逐个元素维护索引
+            return;
+        }
+        spliceAfterCursor(elements);
+    }
+    
+    @Override
+    public void removeRange(int count) {
+        if (index != null || handleCount > 0) {
+            CharList.super.removeRange(count); // 逐个元素维护索引与游标
+            return;
+        }
+        if (isEmpty() || count <= 0) {
+            return;
+        }
+        if (count >= size) {
+            clear();
+            return;
+        }
+        
+        // 先整段摘除从光标开始到末尾为止的部分
+        int removed = Math.min(count, size - cursorPos);
+        Node first = cursor;
+        Node last = cursor;
+        for (int i = 1; i < removed; i++) {
+            last = last.next;
+        }
+        Node after = last.next;
+        size -= removed;
+        if (after != null) {
+            // 光标移到被删除段之后的节点，位置不变
+            if (prev == null) {
+                head = after;
+            } else if (!reversible) {
+                prev.next = after;
+            }
+            cursor = after;
+            if (pooled) {
+                release(first, last, removed);
+            }
+            return;
+        }
+        
+        // 删到了末尾（此时 prev 一定不为null），光标回到开头，剩余的删除从开头继续
+        if (reversible) {
+            Node newLast = prev;
+            prev = newLast.next;
+            newLast.next = null;
+            cursor = newLast;
+            cursorPos--;
+            rewindToHead();
+        } else {
+            prev.next = null;
+            rewindToHead();
+        }
+        if (pooled) {
+            release(first, last, removed);
+        }
+        int rest = count - removed;
+        Node dropped = head;
+        Node droppedLast = null;
+        for (int i = 0; i < rest; i++) {
+            droppedLast = head;
+            head = head.next;
+        }
+        cursor = head;
+        size -= rest;
+        if (pooled && rest > 0) {
+            release(dropped, droppedLast, rest);
+        }
+    }
+    
+    @Override
+    public void replaceRange(CharSequence elements) {
+        if (index != null) {
+            CharList.super.replaceRange(elements); // 逐个元素维护索引
+            return;
+        }
+        if (isEmpty()) {
+            return;
+        }
+        
+        for (int i = 0; i < elements.length(); i++) {
+            if (i > 0) {
+                if (cursor.next == null) {
+                    return;
+                }
+                stepForward();
+            }
+            cursor.data = elements.charAt(i);
+        }
+    }
+    
+    @Override
+    public void appendFrom(List<? extends Character> other) throws ListException {
+        if (index != null || !(other instanceof SinglyLinkedListImpl)) {
+            // 先复制并数出 other 的元素（见 CharList.toCharArray），检查容量之后才移动光标、插入
+            char[] elements = CharList.toCharArray(other);
+            if (size + elements.length > capacity) {
+                throw new ListException("List is full, cannot insert new element");
+            }
+            if (elements.length > 0) {
+                gotoEnd();
+                insertAll(CharBuffer.wrap(elements));
+            }
+            return;
+        }
+        SinglyLinkedListImpl source = (SinglyLinkedListImpl) other;
+        if (source.isEmpty()) {
+            return;
+        }
+        if (size + source.size > capacity) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+        
+        // 按顺序取出 source 的全部字符（不移动 source 的光标），再整段拼接到末尾
+        char[] chars = new char[source.size];
+        boolean restore = source.straightenLinks();
+        int i = 0;
+        for (Node current = source.head; current != null; current = current.next) {
+            chars[i++] = current.data;
+        }
+        if (restore) {
+            source.restoreLinks();
+        }
+        gotoEnd();
+        spliceAfterCursor(CharBuffer.wrap(chars));
+    }
+    
+    @Override
+    public Spliterator.OfInt spliterator() {
+        if (!reversible) {
+            return new NodeSpliterator(head, size);
+        }
+        // 可逆模式下光标之前的链接是反转的，先按顺序拷贝出全部元素（不移动光标）
+        char[] elements = new char[size];
+        boolean restore = straightenLinks();
+        int i = 0;
+        for (Node current = head; current != null; current = current.next) {
+            elements[i++] = current.data;
+        }
+        if (restore) {
+            restoreLinks();
+        }
+        return new CharSpliterator(index -> elements[index], 0, elements.length);
+    }
+    
+    /**
+     * 把元素、光标、容量与光标模式写成二进制快照（见 SnapshotFormat），不关闭通道
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        locateCursor();
+        SnapshotFormat.Writer out = new SnapshotFormat.Writer(channel, SnapshotFormat.LIST,
+                size, cursorPos, capacity, reversible ? SnapshotFormat.REVERSIBLE : 0);
+        boolean restore = straightenLinks();
+        try {
+            for (Node current = head; current != null; current = current.next) {
+                out.putChar(current.data);
+            }
+        } finally {
+            if (restore) {
+                restoreLinks();
+            }
+        }
+        out.finish();
+    }
+    
+    /**
+     * 从 save 写出的快照（也可以是其它 List 实现保存的）恢复一个列表，不关闭通道。
+     * 快照中的光标为-1 而列表不为空时（ArrayListImpl 允许这种状态），光标放在开头
+     */
+    public static SinglyLinkedListImpl load(ReadableByteChannel channel) throws IOException {
+        SnapshotFormat.Reader in = new SnapshotFormat.Reader(channel, SnapshotFormat.LIST);
+        SinglyLinkedListImpl list = new SinglyLinkedListImpl(in.capacity(),
+                (in.flags() & SnapshotFormat.REVERSIBLE) != 0);
+        if (in.count() == 0) {
+            return list;
+        }
+        // 一遍建好整条链：可逆模式下光标之前的节点直接按反转的方向链接
+        int position = Math.max(in.cursor(), 0);
+        Node last = null;
+        Node beforeLast = null;
+        for (int i = 0; i < in.count(); i++) {
+            Node node = new Node(in.getChar());
+            if (last == null) {
+                list.head = node;
+            } else {
+                last.next = (list.reversible && i <= position) ? beforeLast : node;
+            }
+            if (i == position) {
+                list.cursor = node;
+                list.prev = last;
+            }
+            beforeLast = last;
+            last = node;
+        }
+        list.size = in.count();
+        list.cursorPos = position;
+        return list;
+    }
+    
+    // 沿 next 指针遍历一段节点的 Spliterator（大小精确）：trySplit 沿链走过一半节点，把前一半切给新的 Spliterator
+    private static final class NodeSpliterator implements Spliterator.OfInt {
+        private static final int SPLIT_THRESHOLD = 1024; // 少于该数目时不再切分（切分本身要沿链走一半）
+        private Node current;
+        private int remaining;
+        
+        NodeSpliterator(Node first, int count) {
+            this.current = first;
+            this.remaining = count;
+        }
+        
+        @Override
+        public OfInt trySplit() {
+            if (remaining < SPLIT_THRESHOLD) {
+                return null;
+            }
+            int half = remaining >>> 1;
+            NodeSpliterator prefix = new NodeSpliterator(current, half);
+            for (int i = 0; i < half; i++) {
+                current = current.next;
+            }
+            remaining -= half;
+            return prefix;
+        }
+        
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (remaining == 0) {
+                return false;
+            }
+            action.accept(current.data);
+            current = current.next;
+            remaining--;
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (Node node = current; remaining > 0; remaining--) {
+                action.accept(node.data);
+                node = node.next;
+            }
+            current = null;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+    
+    // 附加游标：直接指向节点，节点被删除时由列表移到后继。可逆模式下沿链移动前先用 straightenLinks 把反转的前半段翻回正向，移动后再翻回去
+    private class Handle implements ListCursor<Character> {
+        Node node;  // 游标所在的节点，不标记任何元素时为null
+        int slot;   // 在 handles 中的下标，关闭后为-1
+        int epoch;  // node 所属的代数（见 SinglyLinkedListImpl.epoch）
+        
+        Handle(Node node, int slot, int epoch) {
+            this.node = node;
+            this.slot = slot;
+            this.epoch = epoch;
+        }
+        
+        @Override
+        public boolean gotoBeginning() {
+            checkOpen();
+            node = head;
+            return node != null;
+        }
+        
+        @Override
+        public boolean gotoEnd() {
+            checkOpen();
+            if (isEmpty()) {
+                return false;
+            }
+            boolean restore = straightenLinks();
+            try {
+                Node current = (node != null) ? node : head;
+                while (current.next != null) {
+                    current = current.next;
+                }
+                node = current;
+            } finally {
+                if (restore) {
+                    restoreLinks();
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public boolean gotoNext() {
+            checkOpen();
+            Node next;
+            boolean restore = straightenLinks();
+            try {
+                next = (node != null) ? node.next : head;
+            } finally {
+                if (restore) {
+                    restoreLinks();
+                }
+            }
+            if (next == null) {
+                return false;
+            }
+            node = next;
+            return true;
+        }
+        
+        @Override
+        public boolean gotoPrev() {
+            checkOpen();
+            Node previous;
+            boolean restore = straightenLinks();
+            try {
+                previous = findPreviousNode(node);
+            } finally {
+                if (restore) {
+                    restoreLinks();
+                }
+            }
+            if (previous == null) {
+                return false;
+            }
+            node = previous;
+            return true;
+        }
+        
+        @Override
+        public Character getCursor() {
+            checkOpen();
+            return (node != null) ? node.data : null;
+        }
+        
+        @Override
+        public boolean find(Character searchElement) {
+            checkOpen();
+            if (isEmpty() || searchElement == null) {
+                return false;
+            }
+            Node current = (node != null) ? node : head;
+            if (index != null) {
+                // 在索引中取游标之后（含）的第一次出现，未命中时仍要走到尾节点
+                Map.Entry<Long, Node> hit = index.ceiling(searchElement, current.label);
+                if (hit != null) {
+                    node = hit.getValue();
+                    return true;
+                }
+            }
+            boolean restore = straightenLinks();
+            try {
+                while (true) {
+                    if (index == null && current.data.equals(searchElement)) {
+                        node = current;
+                        return true;
+                    }
+                    if (current.next == null) {
+                        break;
+                    }
+                    current = current.next;
+                }
+            } finally {
+                if (restore) {
+                    restoreLinks();
+                }
+            }
+            node = current; // 未找到，停在尾节点
+            return false;
+        }
+        
+        @Override
+        public void close() {
+            if (slot < 0) {
+                return;
+            }
+            // 用最后一个游标填补空位
+            Handle last = handles[--handleCount];
+            handles[slot] = last;
+            last.slot = slot;
+            handles[handleCount] = null;
+            slot = -1;
+        }
+        
+        private void checkOpen() {
+            if (slot < 0) {
+                throw new IllegalStateException("Cursor is closed");
+            }
+            if (epoch != SinglyLinkedListImpl.this.epoch) {
+                // 列表在此期间被清空过，原来的节点可能已被复用
+                node = null;
+                epoch = SinglyLinkedListImpl.this.epoch;
+            }
+        }
+    }
+    
+    // 辅助方法：把停在 from 上的游标移到 to
+    private void retargetHandles(Node from, Node to) {
+        for (int i = 0; i < handleCount; i++) {
+            if (handles[i].node == from) {
+                handles[i].node = to;
+            }
+        }
+    }
+    
+    /**
+     * 打开或关闭节点复用。关闭时丢弃空闲池
+     */
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+        if (!pooled) {
+            pool = new Node[0];
+            poolTop = 0;
+            pooledCount = 0;
+        }
+    }
+    
+    public boolean isPooled() {
+        return pooled;
+    }
+    
+    // 空闲池中的节点数
+    public int getPooledCount() {
+        return pooledCount;
+    }
+    
+    // 辅助方法：创建节点，打开节点复用时优先从空闲池取
+    private Node newNode(Character data) {
+        if (poolTop == 0) {
+            return new Node(data);
+        }
+        Node node = pool[poolTop - 1];
+        if (node.next == null) {
+            pool[--poolTop] = null; // 这条链取完了
+        } else {
+            pool[poolTop - 1] = node.next;
+        }
+        pooledCount--;
+        node.data = data;
+        node.next = null;
+        return node;
+    }
+    
+    // 辅助方法：把已经摘下的节点链 first..last（共 count 个）接到当前空闲链的前面，池放不下时交给GC
+    private void release(Node first, Node last, int count) {
+        if (pooledCount + count > capacity) {
+            return;
+        }
+        if (poolTop == 0) {
+            last.next = null;
+            retire(first, count);
+            return;
+        }
+        last.next = pool[poolTop - 1];
+        pool[poolTop - 1] = first;
+        pooledCount += count;
+    }
+    
+    // 辅助方法：把以 null 结尾的节点链 first（共 count 个）作为新的一条放入空闲池，池放不下时交给GC
+    private void retire(Node first, int count) {
+        if (pooledCount + count > capacity) {
+            return;
+        }
+        if (poolTop == pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(4, 2 * pool.length));
+        }
+        pool[poolTop++] = first;
+        pooledCount += count;
+    }
+    
+    /**
+     * 打开或关闭字符索引。打开时按当前内容建立索引，关闭时丢弃索引
+     */
+    public void setIndexed(boolean indexed) {
+        if (!indexed) {
+            locateCursor();
+            index = null;
+        } else if (index == null) {
+            index = new OccurrenceIndex<>();
+            relabelAll(null);
+        }
+    }
+    
+    public boolean isIndexed() {
+        return index != null;
+    }
+    
+    // 辅助方法：为刚插入的光标节点分配标签并加入索引（前驱为 prev）
+    private void indexInserted() {
+        long before = (prev != null) ? prev.label : OccurrenceIndex.FIRST_BOUND;
+        long after = (cursor.next != null) ? cursor.next.label : OccurrenceIndex.LAST_BOUND;
+        long label = OccurrenceIndex.labelBetween(before, after);
+        if (label == OccurrenceIndex.NO_ROOM) {
+            relabelFromCursor();
+        } else {
+            cursor.label = label;
+        }
+        index.add(cursor.data, cursor.label, cursor);
+    }
+    
+    // 辅助方法：从光标节点开始向后取一段节点重新均匀分配标签，段长逐次加倍直到间距足够，
+    // 一直到末尾都不够时全部重新分配。光标节点是尚未加入索引的新节点
+    private void relabelFromCursor() {
+        long lower = (prev != null) ? prev.label : OccurrenceIndex.FIRST_BOUND;
+        Node end = cursor;  // 段之后的第一个节点（光标之后的链接总是正向的）
+        int count = 0;
+        for (int target = 2; ; target *= 2) {
+            while (count < target && end != null) {
+                end = end.next;
+                count++;
+            }
+            long upper = (end != null) ? end.label : OccurrenceIndex.LAST_BOUND;
+            long step = OccurrenceIndex.spacing(lower, upper, count);
+            if (step != OccurrenceIndex.NO_ROOM) {
+                // 先删掉这一段的旧标签再加入新标签，避免新旧标签在同一棵树里相撞
+                for (Node current = cursor.next; current != end; current = current.next) {
+                    index.remove(current.data, current.label);
+                }
+                long label = lower;
+                for (Node current = cursor; current != end; current = current.next) {
+                    label += step;
+                    current.label = label;
+                    if (current != cursor) {
+                        index.add(current.data, label, current);
+                    }
+                }
+                return;
+            }
+            if (end == null) {
+                relabelAll(cursor);
+                return;
+            }
+        }
+    }
+    
+    // 辅助方法：全部重新分配标签并重建索引（fresh 是由调用者加入索引的新节点，可为null）
+    private void relabelAll(Node fresh) {
+        index.clear();
+        long step = OccurrenceIndex.fullSpacing(size);
+        long label = OccurrenceIndex.FIRST_BOUND;
+        boolean restore = straightenLinks();
+        for (Node current = head; current != null; current = current.next) {
+            label += step;
+            current.label = label;
+            if (current != fresh) {
+                index.add(current.data, label, current);
+            }
+        }
+        if (restore) {
+            restoreLinks();
+        }
+    }
+    
+    // 辅助方法：索引查找跳转后光标位置未知，按需从头节点补算 prev 与 cursorPos（只会发生在普通模式）
+    private void locateCursor() {
+        if (cursorPos != UNLOCATED) {
+            return;
+        }
+        prev = null;
+        cursorPos = 0;
+        for (Node current = head; current != cursor; current = current.next) {
+            prev = current;
+            cursorPos++;
+        }
+    }
+    
+    // 辅助方法：在光标后整段接入一条新建的节点链，光标移到最后一个新节点（调用者负责检查容量）
+    private void spliceAfterCursor(CharSequence elements) {
+        int count = elements.length();
+        Node back = cursor;                                 // 新节点的前驱
+        Node oldNext = (cursor == null) ? null : cursor.next;
+        if (reversible && cursor != null) {
+            cursor.next = prev;                             // 旧光标将位于新光标之前，反转它的链接
+        }
+        for (int i = 0; i < count; i++) {
+            Node node = newNode(elements.charAt(i));
+            if (back == null) {
+                head = node;                                // 原列表为空
+            } else if (!reversible) {
+                back.next = node;
+            }
+            if (i == count - 1) {
+                node.next = oldNext;
+                prev = back;
+                cursor = node;
+            } else {
+                if (reversible) {
+                    node.next = back;
+                }
+                back = node;
+            }
+        }
+        size += count;
+        cursorPos += count;
+    }
+    
+    // 辅助方法：可逆模式下把光标之前的反转链临时翻回正向，返回之后是否需要 restoreLinks
+    private boolean straightenLinks() {
+        if (!reversible || prev == null) {
+            return false;
+        }
+        reverseChain(prev);
+        prev.next = cursor;
+        return true;
+    }
+    
+    // 辅助方法：撤销 straightenLinks
+    private void restoreLinks() {
+        prev.next = null;
+        reverseChain(head);
+    }
+    
+    // 辅助方法：光标前进一步（可逆模式下顺便反转旧光标节点的链接）
+    private void stepForward() {
+        Node next = cursor.next;
+        if (reversible) {
+            cursor.next = prev;
+        }
+        prev = cursor;
+        cursor = next;
+        cursorPos++;
+    }
+    
+    // 辅助方法：光标后退一步（可逆模式 O(1)；普通模式需从头查找新的前驱）
+    private void stepBack() {
+        Node p = prev;
+        if (reversible) {
+            prev = p.next;
+            p.next = cursor;
+        } else {
+            prev = findPreviousNode(p);
+        }
+        cursor = p;
+        cursorPos--;
+    }
+    
+    // 辅助方法：光标回到头节点
+    private void rewindToHead() {
+        if (reversible) {
+            while (prev != null) {
+                stepBack();
+            }
+        } else {
+            cursor = head;
+            prev = null;
+            cursorPos = 0;
+        }
+    }
+    
+    // 辅助方法：把光标移动到位置 index（普通模式下向前移动时从头节点重新走）
+    private void seek(int index) {
+        if (!reversible && index < cursorPos) {
+            rewindToHead();
+        }
+        while (cursorPos < index) {
+            stepForward();
+        }
+        while (cursorPos > index) {
+            stepBack();
+        }
+    }
+    
+    // 辅助方法：原地反转以 start 开头、以 null 结尾的链，返回新的链头
+    private static Node reverseChain(Node start) {
+        Node reversed = null;
+        while (start != null) {
+            Node next = start.next;
+            start.next = reversed;
+            reversed = start;
+            start = next;
+        }
+        return reversed;
+    }
+    
     // 辅助方法：找到指定节点的前一个节点
     private Node findPreviousNode(Node target) {
         if (target == null || target == head) {
@@ -267,19 +1137,20 @@ public class SinglyLinkedListImpl implements List<Character> {
         return current;
     }
     
+    // gotoPrev 是否为 O(1)（供包装器选择移动光标的方向）
+    @Override
+    public boolean hasFastGotoPrev() {
+        return reversible; // 普通模式下 gotoPrev 要从头查找前驱
+    }
+
     // 获取当前光标位置（用于调试）
-    private int getCursorPosition() {
+    @Override
+    public int getCursorPosition() {
         if (isEmpty() || cursor == null) {
             return -1;
         }
-        
-        int pos = 0;
-        Node current = head;
-        while (current != null && current != cursor) {
-            current = current.next;
-            pos++;
-        }
-        return pos;
+        locateCursor();
+        return cursorPos;
     }
     
     // 获取当前大小（用于调试）
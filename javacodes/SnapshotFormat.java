@@ -0,0 +1,217 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 二进制快照格式（供 List 实现与 ResizingQueue 的 save/load 使用）
+ *
+ * 格式（小端序）：
+ * [0] 魔数 MAGIC  [4] 版本 VERSION  [8] 类型 kind  [12] 元素个数  [16] 光标位置（队列为队头下标，没有时为-1）
+ * [20] 容量  [24] 标志位  [28..32) 保留
+ * [32..) 元素个数个 char（kind 为 LIST、CHARACTER_QUEUE）或 int（kind 为 INTEGER_QUEUE），按从头到尾的顺序
+ *
+ * 各种 List 实现共用 LIST 类型，一种实现保存的快照可以由另一种实现 load。
+ * 读写都经过一个 CHUNK_BYTES 大小的直接缓冲区，对通道只做整块的 read/write；char[] 形式的元素可以用
+ * putChars/getChars 经缓冲区的 char 视图整段复制。读取时不会越过快照的末尾，同一个通道中可以依次存放多个快照。
+ * 容量不能超过 MAX_CAPACITY：load 会按头部的容量分配数组，损坏的头部只会得到 IOException 而不是 OutOfMemoryError。
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x534E4150;    // "SNAP"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int MAX_CAPACITY = 1 << 24;
+
+    // 类型
+    static final int LIST = 1;
+    static final int CHARACTER_QUEUE = 2;
+    static final int INTEGER_QUEUE = 3;
+
+    // 标志位
+    static final int REVERSIBLE = 1;        // 单向链表的可逆光标模式
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * 写出一个快照：构造时写入头部，之后按顺序 putChar/putInt 元素，最后 finish
+     */
+    static final class Writer {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        /**
+         * @throws IOException capacity 超过 MAX_CAPACITY（这样的快照无法 load，不写出任何数据）
+         */
+        Writer(WritableByteChannel channel, int kind, int count, int cursor, int capacity, int flags) throws IOException {
+            if (capacity > MAX_CAPACITY) {
+                throw new IOException("容量超过快照格式的上限 " + MAX_CAPACITY + ": " + capacity);
+            }
+            this.channel = channel;
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(kind).putInt(count)
+                    .putInt(cursor).putInt(capacity).putInt(flags).putInt(0);
+        }
+
+        void putChar(char c) throws IOException {
+            if (buffer.remaining() < Character.BYTES) {
+                drain();
+            }
+            buffer.putChar(c);
+        }
+
+        // 按顺序写出 elements[offset, offset + length)，经缓冲区的 char 视图整段复制
+        void putChars(char[] elements, int offset, int length) throws IOException {
+            while (length > 0) {
+                int n = Math.min(length, buffer.remaining() / Character.BYTES);
+                if (n == 0) {
+                    drain();
+                    continue;
+                }
+                buffer.asCharBuffer().put(elements, offset, n);
+                buffer.position(buffer.position() + n * Character.BYTES);
+                offset += n;
+                length -= n;
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                drain();
+            }
+            buffer.putInt(value);
+        }
+
+        // 写出缓冲区中剩余的数据（不关闭通道）
+        void finish() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 读入一个快照：构造时读入并校验头部，之后按顺序 getChar/getInt 读取 count() 个元素
+     */
+    static final class Reader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final int kind;
+        private final int count;
+        private final int cursor;
+        private final int capacity;
+        private final int flags;
+        private long unread = HEADER_BYTES;    // 快照中还没有从通道读入的字节数
+
+        /**
+         * @param kinds 允许的类型
+         * @throws IOException 不是快照、版本或类型不符、头部数值越界，或者数据不完整
+         */
+        Reader(ReadableByteChannel channel, int... kinds) throws IOException {
+            this.channel = channel;
+            buffer.limit(0);
+            fill(HEADER_BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("不是快照数据");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("不支持的快照版本 " + version);
+            }
+            kind = buffer.getInt();
+            count = buffer.getInt();
+            cursor = buffer.getInt();
+            capacity = buffer.getInt();
+            flags = buffer.getInt();
+            buffer.getInt();
+
+            boolean expected = false;
+            for (int k : kinds) {
+                expected |= (k == kind);
+            }
+            if (!expected) {
+                throw new IOException("快照类型不符: " + kind);
+            }
+            // 列表的光标指向某个元素（或为-1），队列的队头是数组下标
+            boolean cursorValid = (kind == LIST) ? (cursor >= -1 && cursor < count) : (cursor >= 0 && cursor < capacity);
+            if (count < 0 || capacity < 1 || capacity > MAX_CAPACITY || count > capacity || !cursorValid) {
+                throw new IOException("快照头部已损坏");
+            }
+            unread = (long) count * ((kind == INTEGER_QUEUE) ? Integer.BYTES : Character.BYTES);
+        }
+
+        int kind() {
+            return kind;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int cursor() {
+            return cursor;
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        int flags() {
+            return flags;
+        }
+
+        char getChar() throws IOException {
+            if (buffer.remaining() < Character.BYTES) {
+                fill(Character.BYTES);
+            }
+            return buffer.getChar();
+        }
+
+        // 按顺序读入 length 个 char 放到 elements[offset, offset + length)，经缓冲区的 char 视图整段复制
+        void getChars(char[] elements, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (buffer.remaining() < Character.BYTES) {
+                    fill(Character.BYTES);
+                }
+                int n = Math.min(length, buffer.remaining() / Character.BYTES);
+                buffer.asCharBuffer().get(elements, offset, n);
+                buffer.position(buffer.position() + n * Character.BYTES);
+                offset += n;
+                length -= n;
+            }
+        }
+
+        int getInt() throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                fill(Integer.BYTES);
+            }
+            return buffer.getInt();
+        }
+
+        // 辅助方法：保留未读的数据，从通道补充到缓冲区中至少有 needed 个字节（最多读到快照末尾）
+        private void fill(int needed) throws IOException {
+            buffer.compact();
+            while (buffer.position() < needed) {
+                if (unread == 0) {
+                    throw new EOFException("快照数据不完整");
+                }
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + unread));
+                int n = channel.read(buffer);
+                if (n < 0) {
+                    throw new EOFException("快照数据不完整");
+                }
+                unread -= n;
+            }
+            buffer.flip();
+        }
+    }
+}
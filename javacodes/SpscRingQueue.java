@@ -0,0 +1,165 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 单生产者/单消费者（SPSC）的有界无锁环形队列，用于把一个线程产生的元素交给另一个线程
+ * （ResizingQueue 不是线程安全的）。只允许一个线程调用 offer，一个线程调用 poll/drain。
+ *
+ * 实现要点：
+ * - 容量取不小于给定值的 2 的幂，下标用位掩码计算；入队/出队不分配对象，也不加锁；
+ * - tail（下一个写入位置）只由生产者写，head（下一个读取位置）只由消费者写，都是单调递增的 long；
+ *   生产者先普通写入元素，再以 release 语义发布 tail，消费者以 acquire 语义读 tail 后读取元素，head 反之；
+ * - 生产者缓存最近读到的 head（cachedHead），只有缓存值显示队列已满时才重新读 head，消费者对 tail 同理，
+ *   大部分操作不必读取对方所在的缓存行；
+ * - 四个下标存放在同一个 long[] 中，生产者的 (tail, cachedHead) 与消费者的 (head, cachedTail) 相隔 PAD 个 long，
+ *   前后也各留 PAD 个 long，不会与对方或其他对象落在同一缓存行上（数组元素连续存放，不受字段重排的影响）；
+ * - 批量的 offer/drain 对整批元素只发布一次下标。
+ */
+public class SpscRingQueue<T> {
+    private static final VarHandle INDEX = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int PAD = 16;                      // 16 个 long = 128 字节，覆盖相邻缓存行预取
+    private static final int TAIL = PAD;                    // 生产者写
+    private static final int CACHED_HEAD = PAD + 1;         // 生产者私有
+    private static final int HEAD = 2 * PAD;                // 消费者写
+    private static final int CACHED_TAIL = 2 * PAD + 1;     // 消费者私有
+
+    private final Object[] buffer;
+    private final int mask;
+    private final long[] indexes = new long[3 * PAD];
+
+    /**
+     * @param capacity 最少能容纳的元素个数，实际容量向上取 2 的幂
+     * @throws IllegalArgumentException capacity 小于 1 或大于 2^30
+     */
+    public SpscRingQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("容量必须在 1 到 2^30 之间: " + capacity);
+        }
+        int length = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * 实际容量（2 的幂）
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * 生产者调用：队列未满时入队
+     *
+     * @param element 要入队的元素，不能为 null（poll 用 null 表示队列为空）
+     * @return 入队成功返回 true，队列满返回 false
+     */
+    public boolean offer(T element) {
+        Objects.requireNonNull(element, "元素不能为 null");
+        long tail = indexes[TAIL];
+        if (tail - indexes[CACHED_HEAD] == buffer.length) {
+            indexes[CACHED_HEAD] = (long) INDEX.getAcquire(indexes, HEAD);
+            if (tail - indexes[CACHED_HEAD] == buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) tail & mask] = element;
+        INDEX.setRelease(indexes, TAIL, tail + 1);
+        return true;
+    }
+
+    /**
+     * 生产者调用：把 elements[from, from + count) 中能放下的前若干个元素入队，整批只发布一次
+     *
+     * @return 实际入队的个数（队列满时可能少于 count，甚至为 0）
+     * @throws NullPointerException 要入队的元素中有 null（此时不入队任何元素）
+     */
+    public int offer(T[] elements, int from, int count) {
+        Objects.checkFromIndexSize(from, count, elements.length);
+        long tail = indexes[TAIL];
+        long free = buffer.length - (tail - indexes[CACHED_HEAD]);
+        if (free < count) {
+            indexes[CACHED_HEAD] = (long) INDEX.getAcquire(indexes, HEAD);
+            free = buffer.length - (tail - indexes[CACHED_HEAD]);
+        }
+        int n = (int) Math.min(free, count);
+        for (int i = 0; i < n; i++) {
+            Objects.requireNonNull(elements[from + i], "元素不能为 null");
+        }
+        for (int i = 0; i < n; i++) {
+            buffer[(int) (tail + i) & mask] = elements[from + i];
+        }
+        if (n > 0) {
+            INDEX.setRelease(indexes, TAIL, tail + n);
+        }
+        return n;
+    }
+
+    /**
+     * 消费者调用：取出队头元素
+     *
+     * @return 队头元素，队列为空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long head = indexes[HEAD];
+        if (head == indexes[CACHED_TAIL]) {
+            indexes[CACHED_TAIL] = (long) INDEX.getAcquire(indexes, TAIL);
+            if (head == indexes[CACHED_TAIL]) {
+                return null;
+            }
+        }
+        int slot = (int) head & mask;
+        T element = (T) buffer[slot];
+        buffer[slot] = null;    // 帮助垃圾回收
+        INDEX.setRelease(indexes, HEAD, head + 1);
+        return element;
+    }
+
+    /**
+     * 消费者调用：按顺序把当前可读的元素（最多 limit 个）交给 sink，整批只发布一次
+     *
+     * @return 取出的个数，队列为空时为 0
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super T> sink, int limit) {
+        long head = indexes[HEAD];
+        long available = indexes[CACHED_TAIL] - head;
+        if (available < limit) {
+            indexes[CACHED_TAIL] = (long) INDEX.getAcquire(indexes, TAIL);
+            available = indexes[CACHED_TAIL] - head;
+        }
+        int n = (int) Math.min(available, limit);
+        int done = 0;
+        try {
+            while (done < n) {
+                int slot = (int) (head + done) & mask;
+                T element = (T) buffer[slot];
+                buffer[slot] = null;
+                done++;
+                sink.accept(element);
+            }
+        } finally {
+            // sink 抛出异常时，已经交出的元素（包括抛出异常的那个）也算作取出
+            if (done > 0) {
+                INDEX.setRelease(indexes, HEAD, head + done);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 当前元素个数（其他线程同时读写时只是一个近似值）
+     */
+    public int size() {
+        long head = (long) INDEX.getAcquire(indexes, HEAD);
+        long tail = (long) INDEX.getAcquire(indexes, TAIL);
+        return (int) Math.max(0, Math.min(tail - head, buffer.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
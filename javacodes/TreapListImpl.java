@@ -0,0 +1,449 @@
+import java.io.PrintWriter;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * 基于隐式 Treap（按中序位置组织的平衡树）的List实现
+ * 数据类型：Character
+ *
+ * 每个节点记录子树大小和父指针，因此：
+ * - 光标的位置（秩）沿父指针向上累加即可求出，O(log n)
+ * - 光标处插入/删除、moveToNth 通过 split/merge 完成，期望 O(log n)
+ * - gotoNext/gotoPrev 为中序后继/前驱，均摊 O(1)
+ */
+public class TreapListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+
+    // Treap 节点
+    private static class Node {
+        char data;
+        int priority;
+        int size;
+        Node left;
+        Node right;
+        Node parent;
+
+        Node(char data, int priority) {
+            this.data = data;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+
+    private Node root;
+    private Node cursor;
+    private int capacity;
+    private int seed = 0x2545F491; // xorshift 随机数种子，用于生成节点优先级
+
+    // split 的两个结果（避免为每次 split 分配数组）
+    private Node splitLeft;
+    private Node splitRight;
+
+    public TreapListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TreapListImpl(int capacity) {
+        this.capacity = capacity;
+        this.root = null;
+        this.cursor = null;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        // 在光标位置后插入元素（空列表时插入到位置0）
+        int pos = (cursor == null) ? 0 : rank(cursor) + 1;
+        Node newNode = new Node(newElement, nextPriority());
+        insertAt(pos, newNode);
+        cursor = newNode; // 移动光标到新插入的元素
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty() || cursor == null) {
+            return; // 空列表，什么都不做
+        }
+
+        // 先记下后继节点：删除后光标移到它；若删除的是最后一个元素则移到开头
+        Node next = successor(cursor);
+        removeAt(rank(cursor));
+        if (isEmpty()) {
+            cursor = null; // 列表变空
+        } else {
+            cursor = (next != null) ? next : leftmost(root);
+        }
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null || cursor == null) {
+            return;
+        }
+
+        cursor.data = newElement;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        cursor = null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size(root) >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = leftmost(root);
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursor = rightmost(root);
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty() || cursor == null) {
+            return false;
+        }
+        Node next = successor(cursor);
+        if (next == null) {
+            return false;
+        }
+        cursor = next;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty() || cursor == null) {
+            return false;
+        }
+        Node prev = predecessor(cursor);
+        if (prev == null) {
+            return false;
+        }
+        cursor = prev;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty() || cursor == null) {
+            return null;
+        }
+        return cursor.data;
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 中序遍历输出所有元素
+        for (Node current = leftmost(root); current != null; current = successor(current)) {
+            pw.print(current.data);
+            pw.print(' ');
+        }
+        pw.println("{capacity = " + capacity + ", length = " + size(root) + ", cursor = " + getCursorPosition() + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size(root) || cursor == null) {
+            return;
+        }
+
+        // 摘下光标节点后按秩重新插入，节点对象本身被复用
+        Node node = cursor;
+        removeAt(rank(node));
+        node.size = 1;
+        insertAt(n, node);
+        cursor = node;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始按中序搜索
+        char target = searchElement;
+        Node last = cursor;
+        for (Node current = cursor; current != null; current = successor(current)) {
+            if (current.data == target) {
+                cursor = current;
+                return true;
+            }
+            last = current;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        cursor = last;
+        return false;
+    }
+
+    // 获取当前光标位置：沿父指针向上累加左侧节点数，O(log n)
+    public int getCursorPosition() {
+        if (isEmpty() || cursor == null) {
+            return -1;
+        }
+        return rank(cursor);
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size(root);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 中序遍历节点，trySplit 按子树大小定位中点，不移动光标
+        return new NodeSpliterator(root, (root == null) ? null : leftmost(root), 0, size(root));
+    }
+
+    // 中序遍历秩在 [index, fence) 内的节点
+    private static final class NodeSpliterator implements Spliterator.OfInt {
+        private final Node root;
+        private Node node;          // 秩为 index 的节点，区间为空时无意义
+        private int index;
+        private final int fence;
+
+        NodeSpliterator(Node root, Node node, int index, int fence) {
+            this.root = root;
+            this.node = node;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            // 前一半交给新的 Spliterator，本对象从秩为 mid 的节点继续
+            NodeSpliterator prefix = new NodeSpliterator(root, node, index, mid);
+            node = select(root, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(node.data);
+            if (++index < fence) {
+                node = successor(node);
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (tryAdvance(action)) {
+                // 逐个节点沿中序后继前进（均摊 O(1)）
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    // ---------------- Treap 基本操作 ----------------
+
+    private static int size(Node t) {
+        return (t == null) ? 0 : t.size;
+    }
+
+    // 重新计算子树大小，并修正孩子的父指针
+    private static void update(Node t) {
+        t.size = 1 + size(t.left) + size(t.right);
+        if (t.left != null) {
+            t.left.parent = t;
+        }
+        if (t.right != null) {
+            t.right.parent = t;
+        }
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    // 合并两棵树（a 中所有节点都排在 b 之前）
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    // 按秩拆分：前 k 个节点放入 splitLeft，其余放入 splitRight
+    private void split(Node t, int k) {
+        if (t == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        if (size(t.left) >= k) {
+            split(t.left, k);
+            t.left = splitRight;
+            update(t);
+            splitRight = t;
+        } else {
+            split(t.right, k - size(t.left) - 1);
+            t.right = splitLeft;
+            update(t);
+            splitLeft = t;
+        }
+    }
+
+    // 把单个节点插入为第 pos 个元素
+    private void insertAt(int pos, Node node) {
+        split(root, pos);
+        Node left = splitLeft;
+        Node right = splitRight;
+        detach(left);
+        detach(right);
+        root = merge(merge(left, node), right);
+        root.parent = null;
+    }
+
+    // 删除第 pos 个元素（节点本身的左右孩子会被清空）
+    private void removeAt(int pos) {
+        split(root, pos);
+        Node left = splitLeft;
+        split(splitRight, 1);
+        Node middle = splitLeft;
+        Node right = splitRight;
+        detach(left);
+        detach(right);
+        middle.left = null;
+        middle.right = null;
+        middle.parent = null;
+        root = merge(left, right);
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    private static void detach(Node t) {
+        if (t != null) {
+            t.parent = null;
+        }
+    }
+
+    // 节点的秩（中序位置，从0开始）
+    private static int rank(Node node) {
+        int r = size(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                r += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return r;
+    }
+
+    private static Node leftmost(Node t) {
+        while (t.left != null) {
+            t = t.left;
+        }
+        return t;
+    }
+
+    private static Node rightmost(Node t) {
+        while (t.right != null) {
+            t = t.right;
+        }
+        return t;
+    }
+
+    // 秩为 k 的节点（0 <= k < size(t)）
+    private static Node select(Node t, int k) {
+        while (true) {
+            int leftSize = size(t.left);
+            if (k < leftSize) {
+                t = t.left;
+            } else if (k == leftSize) {
+                return t;
+            } else {
+                k -= leftSize + 1;
+                t = t.right;
+            }
+        }
+    }
+
+    // 中序后继
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            return leftmost(node.right);
+        }
+        while (node.parent != null && node == node.parent.right) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+
+    // 中序前驱
+    private static Node predecessor(Node node) {
+        if (node.left != null) {
+            return rightmost(node.left);
+        }
+        while (node.parent != null && node == node.parent.left) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+}
@@ -0,0 +1,437 @@
+import java.io.PrintWriter;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * 基于展开链表（unrolled linked list）的List实现
+ * 数据类型：Character
+ *
+ * 链表的每个节点（块）保存一小段连续的 char，兼顾数组的缓存局部性与链表的局部编辑：
+ * - gotoNext/gotoPrev 通常只在块内移动偏移量
+ * - 插入时块满则对半拆分，删除后块过空则与后继块合并
+ * - find 按块整体扫描
+ */
+public class UnrolledLinkedListImpl implements CharList {
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int BLOCK_SIZE = 64;                 // 每块最多容纳的字符数
+    private static final int MERGE_THRESHOLD = BLOCK_SIZE / 4; // 块内字符少于该值时尝试与后继块合并
+
+    // 展开链表的块
+    private static class Block {
+        final char[] chars = new char[BLOCK_SIZE];
+        int count;
+        Block next;
+        Block prev;
+    }
+
+    private Block head;
+    private Block tail;
+    private Block cursorBlock;
+    private int cursorOffset;   // 光标在块内的偏移
+    private int cursorIndex;    // 光标的绝对位置，空列表时为-1
+    private int size;
+    private int capacity;
+
+    public UnrolledLinkedListImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UnrolledLinkedListImpl(int capacity) {
+        this.capacity = capacity;
+        this.head = null;
+        this.tail = null;
+        this.cursorBlock = null;
+        this.cursorOffset = 0;
+        this.cursorIndex = -1;
+        this.size = 0;
+    }
+
+    @Override
+    public void insert(Character newElement) throws ListException {
+        if (newElement == null) {
+            throw new ListException("Cannot insert null element");
+        }
+
+        if (isFull()) {
+            throw new ListException("List is full, cannot insert new element");
+        }
+
+        if (isEmpty()) {
+            // 空列表，插入第一个元素
+            Block block = new Block();
+            head = block;
+            tail = block;
+            insertIntoBlock(block, 0, newElement);
+        } else {
+            // 在光标位置后插入元素（块内偏移 cursorOffset + 1 可能等于块长，即块尾追加）
+            insertIntoBlock(cursorBlock, cursorOffset + 1, newElement);
+        }
+        cursorIndex++;
+        size++;
+    }
+
+    @Override
+    public void remove() {
+        if (isEmpty()) {
+            return; // 空列表，什么都不做
+        }
+
+        deleteAtCursor();
+        size--;
+
+        // 调整光标位置
+        if (size == 0) {
+            cursorIndex = -1; // 列表变空
+        } else if (cursorIndex >= size) {
+            gotoBeginning(); // 删除的是最后一个元素，光标移到开头
+        }
+        // 否则光标已指向原来的下一个元素
+    }
+
+    @Override
+    public void replace(Character newElement) {
+        if (isEmpty() || newElement == null) {
+            return;
+        }
+
+        cursorBlock.chars[cursorOffset] = newElement;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        cursorBlock = null;
+        cursorOffset = 0;
+        cursorIndex = -1;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public boolean gotoBeginning() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursorBlock = head;
+        cursorOffset = 0;
+        cursorIndex = 0;
+        return true;
+    }
+
+    @Override
+    public boolean gotoEnd() {
+        if (isEmpty()) {
+            return false;
+        }
+        cursorBlock = tail;
+        cursorOffset = tail.count - 1;
+        cursorIndex = size - 1;
+        return true;
+    }
+
+    @Override
+    public boolean gotoNext() {
+        if (isEmpty()) {
+            return false;
+        }
+        if (cursorOffset + 1 < cursorBlock.count) {
+            cursorOffset++;
+        } else if (cursorBlock.next != null) {
+            cursorBlock = cursorBlock.next;
+            cursorOffset = 0;
+        } else {
+            return false;
+        }
+        cursorIndex++;
+        return true;
+    }
+
+    @Override
+    public boolean gotoPrev() {
+        if (isEmpty()) {
+            return false;
+        }
+        if (cursorOffset > 0) {
+            cursorOffset--;
+        } else if (cursorBlock.prev != null) {
+            cursorBlock = cursorBlock.prev;
+            cursorOffset = cursorBlock.count - 1;
+        } else {
+            return false;
+        }
+        cursorIndex--;
+        return true;
+    }
+
+    @Override
+    public Character getCursor() {
+        if (isEmpty()) {
+            return null;
+        }
+        return cursorBlock.chars[cursorOffset];
+    }
+
+    @Override
+    public void showStructure(PrintWriter pw) {
+        if (isEmpty()) {
+            pw.println("Empty list {capacity = " + capacity + ", length = 0, cursor = -1}");
+            return;
+        }
+
+        // 逐块输出所有元素
+        for (Block block = head; block != null; block = block.next) {
+            for (int i = 0; i < block.count; i++) {
+                pw.print(block.chars[i]);
+                pw.print(' ');
+            }
+        }
+        pw.println("{capacity = " + capacity + ", length = " + size + ", cursor = " + cursorIndex + "}");
+    }
+
+    @Override
+    public void moveToNth(int n) {
+        if (isEmpty() || n < 0 || n >= size) {
+            return;
+        }
+
+        char element = cursorBlock.chars[cursorOffset];
+        deleteAtCursor();
+        size--;
+
+        // 在位置n插入元素：从较近的一端按块定位
+        if (size == 0) {
+            Block block = new Block();
+            head = block;
+            tail = block;
+            insertIntoBlock(block, 0, element);
+        } else if (n <= size / 2) {
+            Block block = head;
+            int offset = n;
+            while (offset > block.count) {
+                offset -= block.count;
+                block = block.next;
+            }
+            insertIntoBlock(block, offset, element);
+        } else {
+            Block block = tail;
+            int offset = n - (size - tail.count);
+            while (offset < 0) {
+                block = block.prev;
+                offset += block.count;
+            }
+            insertIntoBlock(block, offset, element);
+        }
+        cursorIndex = n;
+        size++;
+    }
+
+    @Override
+    public boolean find(Character searchElement) {
+        if (isEmpty() || searchElement == null) {
+            return false;
+        }
+
+        // 从光标位置开始逐块搜索
+        char target = searchElement;
+        Block block = cursorBlock;
+        int offset = cursorOffset;
+        int index = cursorIndex;
+        while (true) {
+            char[] chars = block.chars;
+            for (int i = offset; i < block.count; i++) {
+                if (chars[i] == target) {
+                    cursorBlock = block;
+                    cursorOffset = i;
+                    cursorIndex = index + (i - offset);
+                    return true;
+                }
+            }
+            if (block.next == null) {
+                break;
+            }
+            index += block.count - offset;
+            block = block.next;
+            offset = 0;
+        }
+
+        // 如果没找到，光标移到最后一个元素
+        gotoEnd();
+        return false;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        // 按块读取字符，trySplit 沿块链走到中点所在的块，不移动光标
+        return new BlockSpliterator(head, 0, size);
+    }
+
+    // 从块 block 的偏移 offset 开始按顺序读取 count 个字符
+    private static final class BlockSpliterator implements Spliterator.OfInt {
+        private Block block;
+        private int offset;
+        private int count;          // 剩余的字符数
+
+        BlockSpliterator(Block block, int offset, int count) {
+            this.block = block;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int half = count >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            // 前一半交给新的 Spliterator，本对象按块跳过前一半，继续负责后一半
+            BlockSpliterator prefix = new BlockSpliterator(block, offset, half);
+            int skip = offset + half;
+            while (skip >= block.count) {
+                skip -= block.count;
+                block = block.next;
+            }
+            offset = skip;
+            count -= half;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (count == 0) {
+                return false;
+            }
+            skipExhausted();
+            action.accept(block.chars[offset++]);
+            count--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (count > 0) {
+                skipExhausted();
+                int n = Math.min(block.count - offset, count);
+                char[] chars = block.chars;
+                for (int i = 0; i < n; i++) {
+                    action.accept(chars[offset + i]);
+                }
+                offset += n;
+                count -= n;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return count;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        // 当前块已读完时移到下一个块（调用者保证还有剩余字符）
+        private void skipExhausted() {
+            while (offset >= block.count) {
+                block = block.next;
+                offset = 0;
+            }
+        }
+    }
+
+    // 辅助方法：在块的 offset 处插入字符，块满时先对半拆分；光标（块、偏移）指向新字符
+    private void insertIntoBlock(Block block, int offset, char c) {
+        if (block.count == BLOCK_SIZE) {
+            int half = BLOCK_SIZE / 2;
+            Block second = new Block();
+            System.arraycopy(block.chars, half, second.chars, 0, BLOCK_SIZE - half);
+            second.count = BLOCK_SIZE - half;
+            block.count = half;
+            linkAfter(block, second);
+            if (offset > half) {
+                block = second;
+                offset -= half;
+            }
+        }
+        System.arraycopy(block.chars, offset, block.chars, offset + 1, block.count - offset);
+        block.chars[offset] = c;
+        block.count++;
+        cursorBlock = block;
+        cursorOffset = offset;
+    }
+
+    // 辅助方法：删除光标处的字符，光标（块、偏移）移到原来的下一个字符（不维护 size 与 cursorIndex）
+    private void deleteAtCursor() {
+        Block block = cursorBlock;
+        int offset = cursorOffset;
+        System.arraycopy(block.chars, offset + 1, block.chars, offset, block.count - offset - 1);
+        block.count--;
+
+        if (block.count == 0) {
+            // 块变空，摘除
+            Block next = block.next;
+            unlink(block);
+            cursorBlock = next;
+            cursorOffset = 0;
+            return;
+        }
+        Block next = block.next;
+        if (next != null && block.count < MERGE_THRESHOLD && block.count + next.count <= BLOCK_SIZE) {
+            // 把后继块并入当前块
+            System.arraycopy(next.chars, 0, block.chars, block.count, next.count);
+            block.count += next.count;
+            unlink(next);
+        }
+        if (offset < block.count) {
+            cursorBlock = block;
+            cursorOffset = offset;
+        } else {
+            cursorBlock = block.next;
+            cursorOffset = 0;
+        }
+    }
+
+    private void linkAfter(Block block, Block added) {
+        added.prev = block;
+        added.next = block.next;
+        if (block.next != null) {
+            block.next.prev = added;
+        } else {
+            tail = added;
+        }
+        block.next = added;
+    }
+
+    private void unlink(Block block) {
+        if (block.prev != null) {
+            block.prev.next = block.next;
+        } else {
+            head = block.next;
+        }
+        if (block.next != null) {
+            block.next.prev = block.prev;
+        } else {
+            tail = block.prev;
+        }
+    }
+
+    // 获取当前大小（用于调试）
+    public int getSize() {
+        return size;
+    }
+
+    // 获取当前光标位置（用于调试）
+    public int getCursorPosition() {
+        return cursorIndex;
+    }
+}
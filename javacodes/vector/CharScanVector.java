@@ -0,0 +1,34 @@
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * CharScan 的向量版扫描器（依赖 jdk.incubator.vector 孵化模块）
+ * 编译：javac --add-modules jdk.incubator.vector -d 输出目录 vector/CharScanVector.java
+ * 运行：java --add-modules jdk.incubator.vector -cp 输出目录 ...
+ * CharScan 通过 Class.forName 加载本类，找不到或无法链接时退回标量循环。
+ */
+final class CharScanVector implements CharScan.Scanner {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    @Override
+    public int indexOf(char[] a, int from, int to, char c) {
+        short target = (short) c;
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            // 一次比较一个寄存器宽度的字符，有命中时取第一条置位的通道
+            VectorMask<Short> hits = ShortVector.fromCharArray(SPECIES, a, i).eq(target);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        // 不足一个寄存器宽度的尾部逐个比较
+        for (; i < to; i++) {
+            if (a[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}